@@ -1,3 +1,6 @@
+-- Esquema da versão 1, para criar o banco manualmente. Um banco criado por este script é reconhecido pelo Flyway como
+-- versão 1 e recebe as migrations seguintes (src/main/resources/db/migration e src/main/java/db/migration), que são
+-- a única fonte do restante do esquema: não adicione aqui objetos criados por elas
 
 CREATE TABLE users (
     id BIGSERIAL PRIMARY KEY,
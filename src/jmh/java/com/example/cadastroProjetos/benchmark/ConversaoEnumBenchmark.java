@@ -0,0 +1,78 @@
+package com.example.cadastroProjetos.benchmark;
+
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+import com.example.cadastroProjetos.model.enums.ClassificacaoRiscoAttributeConverter;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.model.enums.StatusAttributeConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//Custo por linha de converter status e risco ao carregar projetos: busca na tabela (atual) contra a varredura de
+//values() com comparação de texto (versão anterior)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoEnumBenchmark {
+
+    private static final int LINHAS = 1024;
+
+    private final StatusAttributeConverter statusConverter = new StatusAttributeConverter();
+    private final ClassificacaoRiscoAttributeConverter riscoConverter = new ClassificacaoRiscoAttributeConverter();
+
+    private String[] status;
+    private String[] riscos;
+
+    @Setup
+    public void preparar() {
+        status = new String[LINHAS];
+        riscos = new String[LINHAS];
+        for (int i = 0; i < LINHAS; i++) {
+            status[i] = lidaDoBanco(Status.values()[ThreadLocalRandom.current().nextInt(Status.values().length)].getDescricao());
+            riscos[i] = lidaDoBanco(ClassificacaoRisco.values()[ThreadLocalRandom.current().nextInt(ClassificacaoRisco.values().length)].getDescricao());
+        }
+    }
+
+    //Strings novas montadas a partir dos bytes, como as lidas do ResultSet: sem hash calculado e sem a mesma referência
+    private static String lidaDoBanco(String descricao) {
+        return new String(descricao.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void converterPorTabela(Blackhole blackhole) {
+        for (int i = 0; i < LINHAS; i++) {
+            blackhole.consume(statusConverter.convertToEntityAttribute(status[i]));
+            blackhole.consume(riscoConverter.convertToEntityAttribute(riscos[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void converterPorVarredura(Blackhole blackhole) {
+        for (int i = 0; i < LINHAS; i++) {
+            blackhole.consume(statusPorVarredura(status[i]));
+            blackhole.consume(riscoPorVarredura(riscos[i]));
+        }
+    }
+
+    private static Status statusPorVarredura(String descricao) {
+        for (Status status : Status.values()) {
+            if (status.getDescricao().equals(descricao)) return status;
+        }
+        throw new IllegalArgumentException("Status Invalido: " + descricao);
+    }
+
+    private static ClassificacaoRisco riscoPorVarredura(String descricao) {
+        for (ClassificacaoRisco risco : ClassificacaoRisco.values()) {
+            if (risco.getDescricao().equals(descricao)) return risco;
+        }
+        throw new IllegalArgumentException("Classificação Inválida: " + descricao);
+    }
+}
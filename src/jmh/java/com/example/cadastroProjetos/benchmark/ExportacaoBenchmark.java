@@ -0,0 +1,72 @@
+package com.example.cadastroProjetos.benchmark;
+
+import com.example.cadastroProjetos.model.dto.ProjetoExportacaoLinhaDto;
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.repository.ProjetoRepository;
+import com.example.cadastroProjetos.service.ExportacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+//Agrupamento e escrita NDJSON da exportação para 1 mil, 100 mil e 1 milhão de projetos; as linhas são geradas sob demanda, como viriam do cursor do banco
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportacaoBenchmark {
+
+    private static final int MEMBROS_POR_PROJETO = 5;
+
+    @Param({"1000", "100000", "1000000"})
+    private long projetos;
+
+    private ExportacaoService service;
+
+    @Setup
+    public void preparar() {
+        ProjetoRepository repository = Mockito.mock(ProjetoRepository.class);
+        Mockito.when(repository.exportarProjetos()).thenAnswer(chamada -> LongStream
+                .range(0, projetos * MEMBROS_POR_PROJETO)
+                .mapToObj(linha -> new ProjetoExportacaoLinhaDto(
+                        linha / MEMBROS_POR_PROJETO,
+                        "Projeto",
+                        LocalDate.of(2025, 1, 1),
+                        LocalDate.of(2025, 6, 1),
+                        null,
+                        new BigDecimal("250000.00"),
+                        "Projeto de benchmark",
+                        1L,
+                        Status.EM_ANDAMENTO,
+                        ClassificacaoRisco.MEDIO,
+                        linha % MEMBROS_POR_PROJETO
+                )));
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        service = new ExportacaoService();
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public long exportarProjetos() throws IOException {
+        return service.exportarProjetos(OutputStream.nullOutputStream());
+    }
+}
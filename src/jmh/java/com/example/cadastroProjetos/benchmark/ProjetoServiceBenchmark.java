@@ -0,0 +1,88 @@
+package com.example.cadastroProjetos.benchmark;
+
+import com.example.cadastroProjetos.model.dto.ProjetoResponseDto;
+import com.example.cadastroProjetos.model.entity.ProjetoEntity;
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.service.ClassificacaoRiscoService;
+import com.example.cadastroProjetos.service.ProjetoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Métodos do ProjetoService (e da classificação de risco) que não acessam banco nem a API de membros
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjetoServiceBenchmark {
+
+    private final ProjetoService service = new ProjetoService();
+
+    private final ClassificacaoRiscoService classificacaoRisco =
+            new ClassificacaoRiscoService(new BigDecimal("100000"), new BigDecimal("500000"), 90, 179);
+
+    private final Status[] statusAvancaveis = {
+            Status.EM_ANALISE, Status.ANALISE_REALIZADA, Status.ANALISE_APROVADA,
+            Status.INICIADO, Status.PLANEJADO, Status.EM_ANDAMENTO
+    };
+
+    private final String[] descricoes = new String[Status.values().length];
+
+    private BigDecimal[] orcamentos;
+    private LocalDate[] inicios;
+    private LocalDate[] terminos;
+    private ProjetoEntity projeto;
+
+    private int indice;
+
+    @Setup
+    public void preparar() {
+        for (int i = 0; i < Status.values().length; i++) {
+            descricoes[i] = Status.values()[i].getDescricao();
+        }
+
+        //Combinações que caem nas três classificações de risco
+        orcamentos = new BigDecimal[]{new BigDecimal("50000"), new BigDecimal("300000"), new BigDecimal("900000")};
+        inicios = new LocalDate[]{LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1)};
+        terminos = new LocalDate[]{LocalDate.of(2025, 3, 1), LocalDate.of(2025, 5, 1), LocalDate.of(2025, 12, 1)};
+
+        projeto = new ProjetoEntity();
+        projeto.setNome("Projeto");
+        projeto.setDescricao("Projeto de benchmark");
+        projeto.setDataInicio(LocalDate.of(2025, 1, 1));
+        projeto.setPrevisaoTermino(LocalDate.of(2025, 6, 1));
+        projeto.setOrcamento(new BigDecimal("250000"));
+        projeto.setGerente(1L);
+        projeto.setStatus(Status.EM_ANDAMENTO);
+        projeto.setRisco(ClassificacaoRisco.MEDIO);
+        projeto.setMembrosIds(new ArrayList<>(List.of(1L, 2L, 3L, 4L, 5L)));
+    }
+
+    @Benchmark
+    public ClassificacaoRisco classificarRisco() {
+        int i = indice++ % orcamentos.length;
+        return classificacaoRisco.classificar(orcamentos[i], inicios[i], terminos[i]);
+    }
+
+    @Benchmark
+    public Status retornaProximoStatus() {
+        return service.retornaProximoStatus(statusAvancaveis[indice++ % statusAvancaveis.length]);
+    }
+
+    @Benchmark
+    public Status converterEnum() {
+        return Status.converterEnum(descricoes[indice++ % descricoes.length]);
+    }
+
+    @Benchmark
+    public ProjetoResponseDto transformarDto() {
+        return service.transformarDto(projeto);
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 
 @RestController
 @RequestMapping("/auth")
@@ -29,9 +31,10 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login realizado com sucesso"),
             @ApiResponse(responseCode = "422", description = "Dados da Requição Inválidos"),
+            @ApiResponse(responseCode = "503", description = "Muitas autenticações em andamento, tente novamente após o Retry-After"),
             @ApiResponse(responseCode = "500", description = "Erro no servidor"),
     })
-    public ResponseEntity<LoginResponseDto> login(@RequestBody AuthenticationDto data){
+    public CompletableFuture<ResponseEntity<LoginResponseDto>> login(@RequestBody AuthenticationDto data){
          return (authService.login(data));
     }
 
@@ -40,10 +43,11 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Registro realizado com sucesso"),
             @ApiResponse(responseCode = "422", description = "Dados da Requição Inválidos"),
+            @ApiResponse(responseCode = "503", description = "Muitas autenticações em andamento, tente novamente após o Retry-After"),
             @ApiResponse(responseCode = "500", description = "Erro no servidor"),
     })
-    public ResponseEntity<Void> register(@RequestBody RegisterDto data){
-        authService.register(data);
-        return ResponseEntity.status(200).build();
+    public CompletableFuture<ResponseEntity<Void>> register(@RequestBody RegisterDto data){
+        return authService.register(data)
+                .thenApply(resposta -> ResponseEntity.status(200).build());
     }
 }
@@ -1,12 +1,20 @@
 package com.example.cadastroProjetos.controller;
 
+import com.example.cadastroProjetos.customException.ValidacaoException;
 import com.example.cadastroProjetos.model.dto.MembroDto;
+import com.example.cadastroProjetos.model.dto.MembroPaginaDto;
+import com.example.cadastroProjetos.model.dto.MembrosCriadosDto;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 
 @RestController
@@ -14,38 +22,127 @@ import java.util.HashMap;
 @RequestMapping("/membro")
 public class MembroMockController {
 
-    private final HashMap<Long, MembroDto> bancoMembro = new HashMap<>();
-    private Long id = 1L;
+    //Os IDs são sequenciais, então os membros ficam em segmentos de array indexados pelo próprio ID:
+    //chave primitiva, leitura sem lock e segmentos criados só quando o primeiro membro deles é gravado
+    private static final int BITS_SEGMENTO = 16;
+    private static final int TAMANHO_SEGMENTO = 1 << BITS_SEGMENTO;
+    private static final int MAX_SEGMENTOS = 1 << 12;
+    private static final long CAPACIDADE = (long) MAX_SEGMENTOS * TAMANHO_SEGMENTO;
+    private static final int MAX_TAMANHO_PAGINA = 1000;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<MembroDto>> segmentos = new AtomicReferenceArray<>(MAX_SEGMENTOS);
+    private final AtomicLong proximoId = new AtomicLong(1L);
+
+    //Membros fixos, criados uma única vez com os IDs 1 a 12
+    public MembroMockController() {
+        criar(List.of(
+                new MembroDto("Kauã", "Gerente"),
+                new MembroDto("Pedro", "Funcionário"),
+                new MembroDto("Augusto", "Funcionário"),
+                new MembroDto("Ana", "Funcionário"),
+                new MembroDto("Fulano", "Funcionário"),
+                new MembroDto("Felipe", "Funcionário"),
+                new MembroDto("Augusta", "Funcionário"),
+                new MembroDto("Caring", "Funcionário"),
+                new MembroDto("Kadson", "Funcionário"),
+                new MembroDto("Antonio", "Funcionário"),
+                new MembroDto("Jorge", "Funcionário"),
+                new MembroDto("Otavio", "Funcionário")));
+    }
 
     @PostMapping("/criar")
     public ResponseEntity<String> criarMembro(@RequestBody @Valid MembroDto data) {
-        MembroDto membroEntity = data;
-        bancoMembro.put(id++, membroEntity);
-
-        bancoMembro.put(1L, new MembroDto("Kauã", "Gerente"));
-        bancoMembro.put(2L, new MembroDto("Pedro", "Funcionário"));
-        bancoMembro.put(3L, new MembroDto("Augusto", "Funcionário"));
-        bancoMembro.put(4L, new MembroDto("Ana", "Funcionário"));
-        bancoMembro.put(5L, new MembroDto("Fulano", "Funcionário"));
-        bancoMembro.put(6L, new MembroDto("Felipe", "Funcionário"));
-        bancoMembro.put(7L, new MembroDto("Augusta", "Funcionário"));
-        bancoMembro.put(8L, new MembroDto("Caring", "Funcionário"));
-        bancoMembro.put(9L, new MembroDto("Kadson", "Funcionário"));
-        bancoMembro.put(10L, new MembroDto("Antonio", "Funcionário"));
-        bancoMembro.put(11L, new MembroDto("Jorge", "Funcionário"));
-        bancoMembro.put(12L, new MembroDto("Otavio", "Funcionário"));
+        criar(List.of(data));
         return ResponseEntity.ok("Membro Criado com sucesso");
     }
 
+    @PostMapping("/criar/lote")
+    public ResponseEntity<MembrosCriadosDto> criarMembros(@RequestBody List<MembroDto> data) {
+        if (data == null || data.isEmpty()) throw new ValidacaoException("Lista de membros é obrigatória");
+        for (MembroDto membro : data) {
+            if (membro == null || membro.nome() == null || membro.cargo() == null) throw new ValidacaoException("Nome e cargo são obrigatórios");
+        }
+        return ResponseEntity.ok(criar(data));
+    }
+
+    //Gera membros sintéticos ("Membro<ID>") para testes de desempenho
+    @PostMapping("/gerar")
+    public ResponseEntity<MembrosCriadosDto> gerarMembros(@RequestParam int quantidade,
+                                                         @RequestParam(defaultValue = "Funcionário") String cargo) {
+        if (quantidade < 1) throw new ValidacaoException("Quantidade deve ser maior que zero");
+
+        long primeiroId = reservar(quantidade);
+        for (long id = primeiroId; id < primeiroId + quantidade; id++) {
+            gravar(id, new MembroDto("Membro" + id, cargo));
+        }
+        return ResponseEntity.ok(new MembrosCriadosDto(primeiroId, primeiroId + quantidade - 1));
+    }
+
     @GetMapping("/retornarMembro/{id}")
     public MembroDto consultarMembro(@PathVariable Long id) {
-        return bancoMembro.get(id);
+        return buscar(id);
     }
 
     @GetMapping("/retornarMembros")
-    public ResponseEntity<HashMap<Long, MembroDto>> consultarMembro() {
-        return ResponseEntity.ok(bancoMembro);
+    public ResponseEntity<MembroPaginaDto> consultarMembro(@RequestParam(defaultValue = "0") int pagina,
+                                                           @RequestParam(defaultValue = "100") int tamanho) {
+        if (pagina < 0 || tamanho < 1 || tamanho > MAX_TAMANHO_PAGINA) {
+            throw new ValidacaoException("Página deve ser positiva e tamanho entre 1 e " + MAX_TAMANHO_PAGINA);
+        }
+
+        long totalMembros = Math.min(proximoId.get(), CAPACIDADE) - 1;
+        Map<Long, MembroDto> membros = new LinkedHashMap<>();
+        long primeiroId = (long) pagina * tamanho + 1;
+        for (long id = primeiroId; id < primeiroId + tamanho && id <= totalMembros; id++) {
+            MembroDto membro = buscar(id);
+            if (membro != null) membros.put(id, membro);
+        }
+        return ResponseEntity.ok(new MembroPaginaDto(membros, totalMembros, (int) ((totalMembros + tamanho - 1) / tamanho)));
     }
 
-}
+    //Consulta em lote: IDs não encontrados ficam fora do retorno
+    @PostMapping("/retornarMembros")
+    public ResponseEntity<Map<Long, MembroDto>> consultarMembros(@RequestBody List<Long> ids) {
+        Map<Long, MembroDto> membros = HashMap.newHashMap(ids.size());
+        for (Long idMembro : ids) {
+            MembroDto membro = buscar(idMembro);
+            if (membro != null) membros.put(idMembro, membro);
+        }
+        return ResponseEntity.ok(membros);
+    }
+
+    private MembrosCriadosDto criar(List<MembroDto> membros) {
+        long primeiroId = reservar(membros.size());
+        for (int i = 0; i < membros.size(); i++) {
+            gravar(primeiroId + i, membros.get(i));
+        }
+        return new MembrosCriadosDto(primeiroId, primeiroId + membros.size() - 1);
+    }
+
+    //Reserva um intervalo contínuo de IDs de uma vez, sem disputa entre requisições
+    private long reservar(int quantidade) {
+        long primeiroId = proximoId.getAndAdd(quantidade);
+        if (primeiroId + quantidade > CAPACIDADE) {
+            throw new ValidacaoException("Limite de membros atingido");
+        }
+        return primeiroId;
+    }
 
+    private void gravar(long id, MembroDto membro) {
+        int indice = (int) (id >>> BITS_SEGMENTO);
+        AtomicReferenceArray<MembroDto> segmento = segmentos.get(indice);
+        if (segmento == null) {
+            segmentos.compareAndSet(indice, null, new AtomicReferenceArray<>(TAMANHO_SEGMENTO));
+            segmento = segmentos.get(indice);
+        }
+        segmento.set((int) (id & (TAMANHO_SEGMENTO - 1)), membro);
+    }
+
+    //Um ID reservado por uma criação que ainda está gravando aparece como não encontrado
+    private MembroDto buscar(Long id) {
+        if (id == null || id < 1 || id >= Math.min(proximoId.get(), CAPACIDADE)) return null;
+        AtomicReferenceArray<MembroDto> segmento = segmentos.get((int) (id >>> BITS_SEGMENTO));
+        return segmento == null ? null : segmento.get((int) (id & (TAMANHO_SEGMENTO - 1)));
+    }
+
+}
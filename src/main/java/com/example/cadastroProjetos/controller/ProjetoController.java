@@ -1,21 +1,38 @@
 package com.example.cadastroProjetos.controller;
 
+import com.example.cadastroProjetos.customException.ValidacaoException;
+import com.example.cadastroProjetos.infra.VersaoDados;
 import com.example.cadastroProjetos.infra.security.SecurityConfiguration;
 import com.example.cadastroProjetos.model.dto.ProjetoDto;
+import com.example.cadastroProjetos.model.dto.ProjetoFiltroDto;
+import com.example.cadastroProjetos.model.dto.ProjetoPaginaDto;
 import com.example.cadastroProjetos.model.dto.ProjetoRequestDto;
 import com.example.cadastroProjetos.model.dto.ProjetoResponseDto;
+import com.example.cadastroProjetos.model.dto.ReclassificacaoRiscoDto;
 import com.example.cadastroProjetos.model.dto.RelatorioDto;
+import com.example.cadastroProjetos.model.dto.ResultadoLoteDto;
+import com.example.cadastroProjetos.model.dto.ResultadoTransicaoDto;
+import com.example.cadastroProjetos.model.dto.TransicaoLoteDto;
+import com.example.cadastroProjetos.service.ExportacaoService;
 import com.example.cadastroProjetos.service.ProjetoService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,6 +45,12 @@ public class ProjetoController {
     @Autowired
     private ProjetoService service;
 
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private VersaoDados versaoDados;
+
     @Operation(summary = "Criar Projeto", method = "POST")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Projeto criado com sucesso"),
@@ -41,28 +64,93 @@ public class ProjetoController {
         return ResponseEntity.status(HttpStatus.CREATED).body("Projeto criado com sucesso");
     }
 
+    @Operation(summary = "Criar projetos em lote", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; cada item traz o ID do projeto criado ou o erro"),
+            @ApiResponse(responseCode = "400", description = "Lista vazia ou acima do tamanho máximo"),
+            @ApiResponse(responseCode = "500", description = "Erro no servidor"),
+    })
+    @PostMapping(path = "/criar/lote", consumes = {"application/json"})
+    public ResponseEntity<List<ResultadoLoteDto>> criarProjetosEmLote(@RequestBody List<ProjetoDto> data) {
+        return ResponseEntity.ok(service.criarLote(data));
+    }
+
     @Operation(summary = "Buscar dados de todos os projetos", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Nenhum projeto mudou desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "422", description = "Dados da requisição inválidos"),
             @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
             @ApiResponse(responseCode = "500", description = "Erro no servidor"),
     })
     @GetMapping("/mostrarProjetos")
-    public ResponseEntity<List<ProjetoResponseDto>> mostrarProjetos() {
-        return ResponseEntity.ok(service.mostrarProjetos());
+    public ResponseEntity<ProjetoPaginaDto> mostrarProjetos(
+            @ParameterObject ProjetoFiltroDto filtro,
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @Parameter(description = "ID do último projeto recebido (comece com 0). A paginação por cursor é sempre ordenada por ID e não aceita sort")
+            @RequestParam(required = false) Long cursor,
+            WebRequest request
+    ) {
+        if (cursor != null && request.getParameterValues("sort") != null) {
+            throw new ValidacaoException("A paginação por cursor é sempre ordenada por ID; não informe sort junto com cursor");
+        }
+
+        //A versão é lida uma vez, antes da consulta, e vale para a verificação e para a resposta
+        String etag = versaoDados.etag();
+        if (request.checkNotModified(etag)) return naoModificado(etag);
+
+        if (cursor != null) return comVersao(etag, service.mostrarProjetos(filtro, cursor, pageable.getPageSize()));
+        return comVersao(etag, service.mostrarProjetos(filtro, pageable));
+    }
+
+    @Operation(summary = "Exportar todos os projetos em NDJSON (um projeto por linha)", method = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação enviada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro no servidor"),
+    })
+    @GetMapping(path = "/exportar", produces = {"application/x-ndjson"})
+    public ResponseEntity<StreamingResponseBody> exportarProjetos() {
+        StreamingResponseBody corpo = saida -> exportacaoService.exportarProjetos(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(corpo);
     }
 
     @Operation(summary = "Retornar dados para gerar relatório", method = "GET")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Relatório gerado com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Nenhum projeto mudou desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "422", description = "Dados da requisição inválidos"),
             @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
             @ApiResponse(responseCode = "500", description = "Erro no servidor"),
     })
     @GetMapping("/gerarRelatorio")
-    public ResponseEntity<RelatorioDto> gerarRelatorio() {
-        return ResponseEntity.ok(service.retornarDadosRelatorio());
+    public ResponseEntity<RelatorioDto> gerarRelatorio(WebRequest request) {
+        //A versão é lida uma vez, antes da consulta, e vale para a verificação e para a resposta
+        String etag = versaoDados.etag();
+        if (request.checkNotModified(etag)) return naoModificado(etag);
+
+        return comVersao(etag, service.retornarDadosRelatorio());
+    }
+
+    @Operation(summary = "Recalcular os totais do relatório a partir dos projetos", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório recalculado com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro no servidor"),
+    })
+    @PostMapping("/relatorio/reconstruir")
+    public ResponseEntity<RelatorioDto> reconstruirRelatorio() {
+        return ResponseEntity.ok(service.reconstruirRelatorio());
+    }
+
+    @Operation(summary = "Reclassificar o risco de todos os projetos com as regras atuais", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projetos analisados e quantos mudaram de risco"),
+            @ApiResponse(responseCode = "500", description = "Erro no servidor"),
+    })
+    @PostMapping("/risco/reclassificar")
+    public ResponseEntity<ReclassificacaoRiscoDto> reclassificarRiscos() {
+        return ResponseEntity.ok(service.reclassificarRiscos());
     }
 
     @Operation(summary = "Associar membros ao projeto", method = "PATCH")
@@ -90,6 +178,17 @@ public class ProjetoController {
         return ResponseEntity.status(200).body("Status atualiazdo com sucesso");
     }
 
+    @Operation(summary = "Avançar o status de vários projetos", method = "PATCH")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; cada projeto traz o novo status ou o erro"),
+            @ApiResponse(responseCode = "400", description = "Sem IDs e sem filtro, ou acima do tamanho máximo"),
+            @ApiResponse(responseCode = "500", description = "Erro no servidor"),
+    })
+    @PatchMapping(path = "/avancarStatus/lote", consumes = {"application/json"})
+    public ResponseEntity<List<ResultadoTransicaoDto>> avancarStatusEmLote(@RequestBody TransicaoLoteDto data) {
+        return ResponseEntity.ok(service.avancarStatusLote(data));
+    }
+
     @Operation(summary = "Cancelar um projeto", method = "PATCH")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Projeto cancelado com sucesso"),
@@ -103,6 +202,17 @@ public class ProjetoController {
         return ResponseEntity.status(200).body("Projeto cancelado com sucesso");
     }
 
+    @Operation(summary = "Cancelar vários projetos", method = "PATCH")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; cada projeto traz o novo status ou o erro"),
+            @ApiResponse(responseCode = "400", description = "Sem IDs e sem filtro, ou acima do tamanho máximo"),
+            @ApiResponse(responseCode = "500", description = "Erro no servidor"),
+    })
+    @PatchMapping(path = "/cancelar/lote", consumes = {"application/json"})
+    public ResponseEntity<List<ResultadoTransicaoDto>> cancelarProjetosEmLote(@RequestBody TransicaoLoteDto data) {
+        return ResponseEntity.ok(service.cancelarLote(data));
+    }
+
     @Operation(summary = "Deletar um projeto", method = "DELETE")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Projeto deletado com sucesso"),
@@ -115,5 +225,19 @@ public class ProjetoController {
         service.deletarProjeto(id);
         return ResponseEntity.status(200).body("Projeto deletado com sucesso");
     }
-}
 
+    //O ETag é a versão dos dados lida antes da consulta; com ele o cliente revalida sem receber o corpo de novo
+    private <T> ResponseEntity<T> comVersao(String etag, T corpo) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(corpo);
+    }
+
+    private <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.cadastroProjetos.customException;
+
+public class ServicoIndisponivelException extends RuntimeException{
+    private final long tentarNovamenteSegundos;
+
+    public ServicoIndisponivelException(String mensagem, long tentarNovamenteSegundos){
+        super(mensagem);
+        this.tentarNovamenteSegundos = tentarNovamenteSegundos;
+    }
+
+    public long getTentarNovamenteSegundos() {
+        return tentarNovamenteSegundos;
+    }
+}
@@ -2,7 +2,11 @@ package com.example.cadastroProjetos.infra;
 
 import com.example.cadastroProjetos.customException.RecursoNaoEncontradoException;
 import com.example.cadastroProjetos.customException.RegraNegocioException;
+import com.example.cadastroProjetos.customException.ServicoIndisponivelException;
 import com.example.cadastroProjetos.customException.ValidacaoException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -19,6 +23,24 @@ public class ExceptionHandler {
         return ResponseEntity.status(409).body(ex.getMessage());
     }
 
+    //Conflito com outra alteração simultânea que continuou depois de todas as tentativas
+    @org.springframework.web.bind.annotation.ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> conflitoConcorrente(ConcurrencyFailureException ex){
+        return ResponseEntity.status(409).body("O projeto foi alterado por outra requisição, tente novamente");
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(PropertyReferenceException.class)
+    public ResponseEntity<String> ordenacaoInvalida(PropertyReferenceException ex){
+        return ResponseEntity.badRequest().body("Campo de ordenação inválido: " + ex.getPropertyName());
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(ServicoIndisponivelException.class)
+    public ResponseEntity<String> servicoIndisponivel(ServicoIndisponivelException ex){
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getTentarNovamenteSegundos()))
+                .body(ex.getMessage());
+    }
+
     @org.springframework.web.bind.annotation.ExceptionHandler(ValidacaoException.class)
     public ResponseEntity<String> validacao(ValidacaoException ex){
         return ResponseEntity.badRequest().body(ex.getMessage());
@@ -0,0 +1,48 @@
+package com.example.cadastroProjetos.infra;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+
+//Executa consultas externas (API de membros, banco) em virtual threads, limitando quantas rodam ao mesmo tempo
+@Component
+public class ExecutorConsultas {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore limite;
+
+    public ExecutorConsultas(@Value("${projeto.validacao.max-concorrencia:64}") int maxConcorrencia) {
+        this.limite = new Semaphore(maxConcorrencia);
+    }
+
+    public <T> Future<T> executar(Callable<T> consulta) {
+        return executor.submit(() -> {
+            limite.acquire();
+            try {
+                return consulta.call();
+            } finally {
+                limite.release();
+            }
+        });
+    }
+
+    //Espera o resultado e relança a exceção original da consulta
+    public <T> T aguardar(Future<T> consulta) {
+        try {
+            return consulta.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) throw causa;
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta interrompida", ex);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
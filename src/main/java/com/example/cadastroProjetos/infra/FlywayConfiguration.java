@@ -0,0 +1,17 @@
+package com.example.cadastroProjetos.infra;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfiguration {
+
+    //Bancos já criados pelo dbProjects.sql começam na versão 1 e recebem só as migrations seguintes
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaseline() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.cadastroProjetos.infra;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfiguration {
+
+    //Inserts e updates agrupados em lotes JDBC; valores definidos em spring.jpa.properties têm prioridade
+    @Bean
+    public HibernatePropertiesCustomizer hibernateLotes(@Value("${projeto.lote.tamanho-bloco:500}") int tamanhoBloco) {
+        return propriedades -> {
+            propriedades.putIfAbsent("hibernate.jdbc.batch_size", tamanhoBloco);
+            propriedades.putIfAbsent("hibernate.order_inserts", true);
+            propriedades.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.cadastroProjetos.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class MembroApiConfiguration {
+
+    @Value("${membro.api.url:http://localhost:8080}")
+    private String url;
+
+    @Value("${membro.api.pool.max-conexoes:50}")
+    private int maxConexoes;
+
+    @Value("${membro.api.pool.max-conexoes-por-rota:20}")
+    private int maxConexoesPorRota;
+
+    @Value("${membro.api.timeout.conexao-ms:2000}")
+    private long timeoutConexao;
+
+    @Value("${membro.api.timeout.leitura-ms:5000}")
+    private long timeoutLeitura;
+
+    @Value("${membro.api.keep-alive-ms:30000}")
+    private long keepAlive;
+
+    @Value("${membro.api.http2:false}")
+    private boolean http2;
+
+    //Client único para a API de membros, reaproveitando conexões entre as requisições
+    @Bean
+    public RestTemplate membroRestTemplate(RestTemplateBuilder builder, MeterRegistry meterRegistry) {
+        return builder
+                .rootUri(url)
+                .requestFactory(() -> http2 ? criarFactoryHttp2() : criarFactoryPool(meterRegistry))
+                .build();
+    }
+
+    private ClientHttpRequestFactory criarFactoryPool(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConexoes)
+                .setMaxConnPerRoute(maxConexoesPorRota)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeoutConexao))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeoutLeitura))
+                        .setTimeToLive(TimeValue.ofMilliseconds(keepAlive))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "membro-api").bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeoutLeitura))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAlive))
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAlive))
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    private ClientHttpRequestFactory criarFactoryHttp2() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(timeoutConexao))
+                .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(timeoutLeitura));
+        return factory;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.cadastroProjetos.infra;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//Versão global dos projetos, usada como ETag da listagem e do relatório. Toda alteração incrementa a versão
+//só depois do commit: assim uma leitura nunca recebe a versão nova com os dados antigos
+@Component
+public class VersaoDados {
+
+    //Identifica esta execução da aplicação, para um ETag antigo não coincidir com a versão reiniciada do zero
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versao = new AtomicLong();
+
+    public void registrarAlteracao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementar();
+            }
+        });
+    }
+
+    public String etag() {
+        return "\"" + epoca + "-" + versao.get() + "\"";
+    }
+
+    private void incrementar() {
+        versao.incrementAndGet();
+    }
+}
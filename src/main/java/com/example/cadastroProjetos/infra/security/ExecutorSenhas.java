@@ -0,0 +1,66 @@
+package com.example.cadastroProjetos.infra.security;
+
+import com.example.cadastroProjetos.customException.ServicoIndisponivelException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+//Roda o hash e a verificação de senhas fora das threads do Tomcat, com fila limitada; fila cheia vira 503
+@Component
+public class ExecutorSenhas {
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final long tentarNovamenteSegundos;
+
+    public ExecutorSenhas(
+            @Value("${api.security.senha.threads:0}") int threads,
+            @Value("${api.security.senha.fila:100}") int tamanhoFila,
+            @Value("${api.security.senha.retry-after-segundos:1}") long tentarNovamenteSegundos,
+            MeterRegistry meterRegistry
+    ) {
+        int quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                quantidadeThreads, quantidadeThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila),
+                Thread.ofPlatform().name("senha-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.meterRegistry = meterRegistry;
+        this.tentarNovamenteSegundos = tentarNovamenteSegundos;
+
+        //Tamanho da fila, threads ativas e tarefas concluídas
+        new ExecutorServiceMetrics(executor, "senhas", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> executar(String operacao, Supplier<T> tarefa) {
+        Timer.Sample espera = Timer.start(meterRegistry);
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                espera.stop(meterRegistry.timer("seguranca.senha.espera", "operacao", operacao));
+                Timer.Sample duracao = Timer.start(meterRegistry);
+                try {
+                    return tarefa.get();
+                } finally {
+                    duracao.stop(meterRegistry.timer("seguranca.senha.duracao", "operacao", operacao));
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            meterRegistry.counter("seguranca.senha.rejeitadas", "operacao", operacao).increment();
+            throw new ServicoIndisponivelException("Muitas requisições de autenticação no momento, tente novamente em instantes", tentarNovamenteSegundos);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import org.apache.catalina.security.SecurityConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,10 +15,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @SecurityScheme(name = SecurityConfiguration.SECURITY, type = SecuritySchemeType.HTTP, bearerFormat = "JWT", scheme = "bearer")
@@ -38,10 +44,15 @@ public class SecurityConfiguration {
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**","/swagger-ui.html").permitAll()
                         .requestMatchers("/membro/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/projeto/criar").hasRole("ADMINISTRADOR")
+                        .requestMatchers(HttpMethod.POST, "/projeto/criar/lote").hasRole("ADMINISTRADOR")
+                        .requestMatchers(HttpMethod.PATCH,"/projeto/avancarStatus/lote").hasRole("ADMINISTRADOR")
                         .requestMatchers(HttpMethod.PATCH,"/projeto/avancarStatus/{id}").hasRole("ADMINISTRADOR")
                         .requestMatchers(HttpMethod.PATCH,"/projeto/associar/{id}").hasRole("ADMINISTRADOR")
+                        .requestMatchers(HttpMethod.PATCH,"/projeto/cancelar/lote").hasRole("ADMINISTRADOR")
                         .requestMatchers(HttpMethod.PATCH,"/projeto/cancelar/{id}").hasRole("ADMINISTRADOR")
                         .requestMatchers(HttpMethod.DELETE,"/projeto/deletar/{id}").hasRole("ADMINISTRADOR")
+                        .requestMatchers(HttpMethod.POST,"/projeto/relatorio/reconstruir").hasRole("ADMINISTRADOR")
+                        .requestMatchers(HttpMethod.POST,"/projeto/risco/reclassificar").hasRole("ADMINISTRADOR")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
@@ -53,8 +64,20 @@ public class SecurityConfiguration {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    //Novas senhas usam o algoritmo configurado; hashes antigos (sem prefixo) são BCrypt e são atualizados no próximo login
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${api.security.senha.algoritmo:bcrypt}") String algoritmo,
+            @Value("${api.security.senha.bcrypt-custo:10}") int custoBcrypt
+    ){
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custoBcrypt);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algoritmo, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
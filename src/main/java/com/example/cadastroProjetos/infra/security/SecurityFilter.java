@@ -5,15 +5,19 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.example.cadastroProjetos.customException.ValidacaoException;
+import com.example.cadastroProjetos.model.dto.TokenValidadoDto;
 import com.example.cadastroProjetos.model.entity.UserEntity;
 import com.example.cadastroProjetos.repository.UserRepository;
 import com.example.cadastroProjetos.service.AuthService;
 import com.example.cadastroProjetos.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authorization.method.AuthorizeReturnObject;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -35,6 +39,13 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    //Quando ligado, o usuário é montado a partir do papel gravado no token, sem consultar a tabela users
+    @Value("${api.security.token.confiar-papel:true}")
+    private boolean confiarPapelDoToken;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -45,9 +56,11 @@ public class SecurityFilter extends OncePerRequestFilter {
         var token = recuperarToken(request);
 
         if (token != null) {
-            var login = tokenService.validarToken(token);
-            if (login != null) {
-                UserDetails user = repository.findByLogin(login);
+            //Custo de autenticar a requisição: validação do token e busca do usuário
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            var tokenValidado = tokenService.validar(token);
+            if (tokenValidado != null) {
+                UserDetails user = recuperarUsuario(tokenValidado);
                 if (user != null) {
                     var authentication =
                             new UsernamePasswordAuthenticationToken(
@@ -60,10 +73,19 @@ public class SecurityFilter extends OncePerRequestFilter {
                             .setAuthentication(authentication);
                 }
             }
+            amostra.stop(meterRegistry.timer("seguranca.autenticacao"));
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails recuperarUsuario(TokenValidadoDto tokenValidado){
+        if (confiarPapelDoToken && tokenValidado.role() != null) {
+            return new UserEntity(tokenValidado.login(), null, tokenValidado.role());
+        }
+        //Tokens antigos, sem o papel, continuam consultando o banco até expirarem
+        return repository.findByLogin(tokenValidado.login());
+    }
+
     private String recuperarToken(HttpServletRequest request){
         var authHeader = request.getHeader("Authorization");
         if(authHeader == null) return null;
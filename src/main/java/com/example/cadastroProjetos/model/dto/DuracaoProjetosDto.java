@@ -0,0 +1,7 @@
+package com.example.cadastroProjetos.model.dto;
+
+public record DuracaoProjetosDto(
+        Long totalMeses,
+        Long quantidadeProjetos
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.cadastroProjetos.model.dto;
+
+import java.util.Map;
+
+public record MembroPaginaDto(
+        //Membros da página, ordenados por ID
+        Map<Long, MembroDto> membros,
+        Long totalMembros,
+        Integer totalPaginas
+) {
+}
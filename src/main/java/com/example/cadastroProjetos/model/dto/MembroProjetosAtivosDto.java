@@ -0,0 +1,7 @@
+package com.example.cadastroProjetos.model.dto;
+
+public record MembroProjetosAtivosDto(
+        Long membroId,
+        Long quantidadeProjetos
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.cadastroProjetos.model.dto;
+
+//Os membros criados juntos recebem IDs consecutivos, de primeiroId até ultimoId
+public record MembrosCriadosDto(
+        Long primeiroId,
+        Long ultimoId
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+import com.example.cadastroProjetos.model.enums.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+//Uma linha por membro do projeto (ou uma linha com membroId nulo para projetos sem membros)
+public record ProjetoExportacaoLinhaDto(
+        Long id,
+        String nome,
+        LocalDate dataInicio,
+        LocalDate previsaoTermino,
+        LocalDate dataTermino,
+        BigDecimal orcamento,
+        String descricao,
+        Long gerenteId,
+        Status status,
+        ClassificacaoRisco risco,
+        Long membroId
+) {
+}
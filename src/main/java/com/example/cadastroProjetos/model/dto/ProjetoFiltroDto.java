@@ -0,0 +1,35 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+import com.example.cadastroProjetos.model.enums.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ProjetoFiltroDto(
+        Status status,
+        ClassificacaoRisco risco,
+        Long gerenteId,
+
+        @Schema(type = "string", pattern = "dd/MM/yyyy", example = "25/12/2025")
+        @DateTimeFormat(pattern = "dd/MM/yyyy")
+        LocalDate dataInicioDe,
+
+        @Schema(type = "string", pattern = "dd/MM/yyyy", example = "25/12/2025")
+        @DateTimeFormat(pattern = "dd/MM/yyyy")
+        LocalDate dataInicioAte,
+
+        @Schema(type = "string", pattern = "dd/MM/yyyy", example = "25/12/2025")
+        @DateTimeFormat(pattern = "dd/MM/yyyy")
+        LocalDate previsaoTerminoDe,
+
+        @Schema(type = "string", pattern = "dd/MM/yyyy", example = "25/12/2025")
+        @DateTimeFormat(pattern = "dd/MM/yyyy")
+        LocalDate previsaoTerminoAte,
+
+        BigDecimal orcamentoMinimo,
+        BigDecimal orcamentoMaximo
+) {
+}
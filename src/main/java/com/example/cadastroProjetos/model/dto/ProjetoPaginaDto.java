@@ -0,0 +1,13 @@
+package com.example.cadastroProjetos.model.dto;
+
+import java.util.List;
+
+public record ProjetoPaginaDto(
+        List<ProjetoResponseDto> projetos,
+        //Preenchido na paginação por página/tamanho
+        Long totalProjetos,
+        Integer totalPaginas,
+        //Preenchido na paginação por cursor; nulo quando não há mais projetos
+        Long proximoCursor
+) {
+}
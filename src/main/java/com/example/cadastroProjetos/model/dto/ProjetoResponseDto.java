@@ -7,6 +7,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 public record ProjetoResponseDto(
+        Long id,
         String nome,
         LocalDate dataInicio,
         LocalDate previsaoTermino,
@@ -0,0 +1,16 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+//Campos usados na reclassificação de risco, sem carregar a entidade nem os membros
+public record ProjetoRiscoDto(
+        Long id,
+        BigDecimal orcamento,
+        LocalDate dataInicio,
+        LocalDate previsaoTermino,
+        ClassificacaoRisco risco
+) {
+}
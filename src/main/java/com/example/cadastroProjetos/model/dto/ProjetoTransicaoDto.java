@@ -0,0 +1,15 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.Status;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+//Somente o que a mudança de status e o relatório precisam, sem carregar a entidade nem os membros
+public record ProjetoTransicaoDto(
+        Long id,
+        Status status,
+        BigDecimal orcamento,
+        LocalDate dataInicio,
+        LocalDate dataTermino
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.Status;
+
+import java.math.BigDecimal;
+
+public record RelatorioStatusDto(
+        Status status,
+        Long quantidade,
+        BigDecimal totalOrcado,
+        Long totalMesesDuracao
+) {
+}
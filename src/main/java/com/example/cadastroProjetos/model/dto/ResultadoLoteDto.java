@@ -0,0 +1,9 @@
+package com.example.cadastroProjetos.model.dto;
+
+//Resultado de cada item do lote, na mesma ordem do envio: projetoId quando criado ou a mensagem de erro
+public record ResultadoLoteDto(
+        Integer indice,
+        Long projetoId,
+        String erro
+) {
+}
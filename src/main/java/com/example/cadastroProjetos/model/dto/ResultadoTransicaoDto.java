@@ -0,0 +1,12 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.Status;
+
+//Resultado de cada projeto da operação em lote: o novo status ou a mensagem de erro
+public record ResultadoTransicaoDto(
+        Long projetoId,
+        Status statusAnterior,
+        Status status,
+        String erro
+) {
+}
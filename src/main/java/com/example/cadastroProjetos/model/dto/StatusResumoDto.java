@@ -0,0 +1,11 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.Status;
+import java.math.BigDecimal;
+
+public record StatusResumoDto(
+        Status status,
+        Long quantidadeProjetos,
+        BigDecimal totalOrcado
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.UserRole;
+
+//role fica nulo em tokens emitidos antes do papel ser gravado no token
+public record TokenValidadoDto(
+        String login,
+        UserRole role
+) {
+}
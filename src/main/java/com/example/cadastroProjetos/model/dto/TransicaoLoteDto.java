@@ -0,0 +1,13 @@
+package com.example.cadastroProjetos.model.dto;
+
+import com.example.cadastroProjetos.model.enums.Status;
+
+import java.util.List;
+
+//Projetos da operação em lote: pelos IDs ou, sem IDs, por filtro de status e/ou gerente
+public record TransicaoLoteDto(
+        List<Long> ids,
+        Status status,
+        Long gerenteId
+) {
+}
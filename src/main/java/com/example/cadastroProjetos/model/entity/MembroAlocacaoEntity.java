@@ -0,0 +1,30 @@
+package com.example.cadastroProjetos.model.entity;
+
+import jakarta.persistence.*;
+
+//Projetos ativos de cada membro, com uma linha por membro para o banco serializar alocações concorrentes
+@Table(name = "membro_alocacao")
+@Entity(name = "membro_alocacao")
+public class MembroAlocacaoEntity {
+
+    @Id
+    private Long membroId;
+
+    private int projetosAtivos;
+
+    public MembroAlocacaoEntity(Long membroId, int projetosAtivos) {
+        this.membroId = membroId;
+        this.projetosAtivos = projetosAtivos;
+    }
+
+    public MembroAlocacaoEntity() {
+    }
+
+    public Long getMembroId() {
+        return membroId;
+    }
+
+    public int getProjetosAtivos() {
+        return projetosAtivos;
+    }
+}
@@ -14,8 +14,9 @@ import java.util.List;
 public class ProjetoEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; //Bigint no banco
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projeto_seq")
+    @SequenceGenerator(name = "projeto_seq", sequenceName = "projeto_seq", allocationSize = 50)
+    private Long id; //Bigint no banco; sequência em vez de IDENTITY para o Hibernate agrupar os inserts
 
     private String nome; //VARCHAR
 
@@ -35,6 +36,9 @@ public class ProjetoEntity {
 
     private ClassificacaoRisco risco;
 
+    @Version
+    private Long versao; //Lock otimista: alterações simultâneas no mesmo projeto falham no commit
+
     @ElementCollection
     @CollectionTable(
             name = "projeto_membros",
@@ -111,6 +115,10 @@ public class ProjetoEntity {
         return descricao;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public Status getStatus() {
         return status;
     }
@@ -0,0 +1,30 @@
+package com.example.cadastroProjetos.model.entity;
+
+import jakarta.persistence.*;
+
+//Quantidade de projetos em que cada membro aparece; o membro sai da tabela quando chega a zero
+@Table(name = "relatorio_membro")
+@Entity(name = "relatorio_membro")
+public class RelatorioMembroEntity {
+
+    @Id
+    private Long membroId;
+
+    private long referencias;
+
+    public RelatorioMembroEntity(Long membroId, long referencias) {
+        this.membroId = membroId;
+        this.referencias = referencias;
+    }
+
+    public RelatorioMembroEntity() {
+    }
+
+    public Long getMembroId() {
+        return membroId;
+    }
+
+    public long getReferencias() {
+        return referencias;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.cadastroProjetos.model.entity;
+
+import com.example.cadastroProjetos.model.enums.Status;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+//Totais do relatório por status, atualizados a cada alteração de projeto
+@Table(name = "relatorio_status")
+@Entity(name = "relatorio_status")
+public class RelatorioStatusEntity {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private long quantidade;
+
+    private BigDecimal totalOrcado; //Numeric(38,2) no banco
+
+    private long totalMesesDuracao; //Soma da duração em meses dos projetos encerrados
+
+    public RelatorioStatusEntity(Status status, long quantidade, BigDecimal totalOrcado, long totalMesesDuracao) {
+        this.status = status;
+        this.quantidade = quantidade;
+        this.totalOrcado = totalOrcado;
+        this.totalMesesDuracao = totalMesesDuracao;
+    }
+
+    public RelatorioStatusEntity() {
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getTotalOrcado() {
+        return totalOrcado;
+    }
+
+    public long getTotalMesesDuracao() {
+        return totalMesesDuracao;
+    }
+}
@@ -39,6 +39,14 @@ public class UserEntity implements UserDetails {
         else return List.of(new SimpleGrantedAuthority("ROLE_MEMBRO"));
     }
 
+    public void setSenha(String senha) {
+        this.senha = senha;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
     @Override
     public String getPassword() {
         return senha;
@@ -1,11 +1,24 @@
 package com.example.cadastroProjetos.model.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum ClassificacaoRisco {
     BAIXO("Baixo"),
     MEDIO("Médio"),
     ALTO("Alto");
 
-    private String descricao;
+    private static final Map<String, ClassificacaoRisco> POR_DESCRICAO;
+
+    static {
+        Map<String, ClassificacaoRisco> porDescricao = new HashMap<>();
+        for (ClassificacaoRisco risco : values()) {
+            porDescricao.put(risco.descricao, risco);
+        }
+        POR_DESCRICAO = Map.copyOf(porDescricao);
+    }
+
+    private final String descricao;
 
     ClassificacaoRisco(String descricao) {
         this.descricao = descricao;
@@ -16,11 +29,10 @@ public enum ClassificacaoRisco {
     }
 
     public static ClassificacaoRisco converterEnum(String descricao) {
-        for (ClassificacaoRisco risco : values()) {
-            if (risco.getDescricao().equals(descricao)) {
-                return risco;
-            }
+        ClassificacaoRisco risco = descricao == null ? null : POR_DESCRICAO.get(descricao);
+        if (risco == null) {
+            throw new IllegalArgumentException("Classificação Inválida: " + descricao);
         }
-        throw new IllegalArgumentException("Classificação Inválida: " + descricao);
+        return risco;
     }
 }
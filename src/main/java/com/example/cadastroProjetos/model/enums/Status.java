@@ -1,5 +1,8 @@
 package com.example.cadastroProjetos.model.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum Status {
     EM_ANALISE("Em análise"),
     ANALISE_REALIZADA("Análise Realizada"),
@@ -10,6 +13,25 @@ public enum Status {
     ENCERRADO("Encerrado"),
     CANCELADO("Cancelado");
 
+    //Tabelas montadas uma vez: a conversão roda para cada linha lida do banco e a transição a cada mudança de status
+    private static final Map<String, Status> POR_DESCRICAO;
+    private static final Status[] PROXIMO = new Status[values().length];
+
+    static {
+        Map<String, Status> porDescricao = new HashMap<>();
+        for (Status status : values()) {
+            porDescricao.put(status.descricao, status);
+        }
+        POR_DESCRICAO = Map.copyOf(porDescricao);
+
+        PROXIMO[EM_ANALISE.ordinal()] = ANALISE_REALIZADA;
+        PROXIMO[ANALISE_REALIZADA.ordinal()] = ANALISE_APROVADA;
+        PROXIMO[ANALISE_APROVADA.ordinal()] = INICIADO;
+        PROXIMO[INICIADO.ordinal()] = PLANEJADO;
+        PROXIMO[PLANEJADO.ordinal()] = EM_ANDAMENTO;
+        PROXIMO[EM_ANDAMENTO.ordinal()] = ENCERRADO;
+    }
+
     private final String descricao;
 
     Status(String descricao){
@@ -20,15 +42,16 @@ public enum Status {
         return descricao;
     }
 
+    //Próxima etapa do projeto, ou null para encerrado e cancelado
+    public Status getProximo(){
+        return PROXIMO[ordinal()];
+    }
+
     public static Status converterEnum(String descricaoBanco){
-        for(Status status : values()) {
-            if (status.descricao.equals(descricaoBanco)) {
-                return status;
-            }
+        Status status = descricaoBanco == null ? null : POR_DESCRICAO.get(descricaoBanco);
+        if (status == null) {
+            throw new IllegalArgumentException("Status Invalido: " + descricaoBanco);
         }
-
-        throw new IllegalArgumentException("Status Invalido: " + descricaoBanco);
+        return status;
     }
 }
-
-
@@ -0,0 +1,39 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.model.entity.MembroAlocacaoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MembroAlocacaoRepository extends JpaRepository<MembroAlocacaoEntity, Long> {
+
+    @Query("SELECT a.membroId FROM membro_alocacao a WHERE a.membroId IN (:membrosIds)")
+    List<Long> buscarExistentes(@Param("membrosIds") Collection<Long> membrosIds);
+
+    //O banco trava a linha de cada membro e reavalia o limite, então duas alocações simultâneas não passam juntas
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE membro_alocacao a SET a.projetosAtivos = a.projetosAtivos + :quantidade
+            WHERE a.membroId IN (:membrosIds) AND a.projetosAtivos + :quantidade <= :limite
+            """)
+    int alocar(@Param("membrosIds") Collection<Long> membrosIds, @Param("quantidade") int quantidade, @Param("limite") int limite);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE membro_alocacao a SET a.projetosAtivos = a.projetosAtivos - 1 WHERE a.membroId IN (:membrosIds)")
+    int liberar(@Param("membrosIds") Collection<Long> membrosIds);
+
+    //Libera os membros dos projetos direto no banco, sem carregar a lista de membros; um membro presente em vários
+    //dos projetos é liberado uma vez por projeto
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE membro_alocacao a
+            SET a.projetosAtivos = a.projetosAtivos - (
+                SELECT COUNT(p) FROM projeto p JOIN p.membrosIds m WHERE m = a.membroId AND p.id IN (:projetosIds))
+            WHERE a.membroId IN (SELECT m FROM projeto p JOIN p.membrosIds m WHERE p.id IN (:projetosIds))
+            """)
+    int liberarDosProjetos(@Param("projetosIds") Collection<Long> projetosIds);
+}
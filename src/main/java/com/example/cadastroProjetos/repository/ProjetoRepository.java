@@ -1,23 +1,168 @@
 package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.model.dto.DuracaoProjetosDto;
+import com.example.cadastroProjetos.model.dto.MembroProjetosAtivosDto;
+import com.example.cadastroProjetos.model.dto.ProjetoExportacaoLinhaDto;
+import com.example.cadastroProjetos.model.dto.ProjetoMembroDto;
+import com.example.cadastroProjetos.model.dto.ProjetoRiscoDto;
+import com.example.cadastroProjetos.model.dto.ProjetoTransicaoDto;
+import com.example.cadastroProjetos.model.dto.StatusResumoDto;
 import com.example.cadastroProjetos.model.entity.ProjetoEntity;
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
 import com.example.cadastroProjetos.model.enums.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProjetoRepository extends JpaRepository<ProjetoEntity, Long> {
+public interface ProjetoRepository extends JpaRepository<ProjetoEntity, Long>, JpaSpecificationExecutor<ProjetoEntity> {
     @Query("""
-            SELECT COUNT(p)
+            SELECT new com.example.cadastroProjetos.model.dto.MembroProjetosAtivosDto(m, COUNT(p))
             FROM projeto p
             JOIN p.membrosIds m
-            WHERE m = :membroId
+            WHERE m IN (:membrosIds)
             AND p.status NOT IN (:statusEncerrados)
+            GROUP BY m
             """)
-    long contarProjetosMembroAtivo(
-            @Param("membroId") Long membroId,
+    List<MembroProjetosAtivosDto> contarProjetosMembrosAtivos(
+            @Param("membrosIds") Collection<Long> membrosIds,
             @Param("statusEncerrados") List<Status> statusEncerrados
     );
 
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.ProjetoMembroDto(p.id, m)
+            FROM projeto p
+            JOIN p.membrosIds m
+            WHERE p.id IN (:projetosIds)
+            """)
+    List<ProjetoMembroDto> buscarMembrosDosProjetos(@Param("projetosIds") Collection<Long> projetosIds);
+
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.StatusResumoDto(p.status, COUNT(p), COALESCE(SUM(p.orcamento), 0))
+            FROM projeto p
+            GROUP BY p.status
+            """)
+    List<StatusResumoDto> resumirPorStatus();
+
+    //Meses entre início e término calculados da mesma forma que ChronoUnit.MONTHS.between
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.DuracaoProjetosDto(
+                COALESCE(SUM(
+                    CASE
+                        WHEN (YEAR(p.dataTermino) - YEAR(p.dataInicio)) * 12 + MONTH(p.dataTermino) - MONTH(p.dataInicio) > 0
+                             AND DAY(p.dataTermino) < DAY(p.dataInicio)
+                        THEN (YEAR(p.dataTermino) - YEAR(p.dataInicio)) * 12 + MONTH(p.dataTermino) - MONTH(p.dataInicio) - 1
+                        WHEN (YEAR(p.dataTermino) - YEAR(p.dataInicio)) * 12 + MONTH(p.dataTermino) - MONTH(p.dataInicio) < 0
+                             AND DAY(p.dataTermino) > DAY(p.dataInicio)
+                        THEN (YEAR(p.dataTermino) - YEAR(p.dataInicio)) * 12 + MONTH(p.dataTermino) - MONTH(p.dataInicio) + 1
+                        ELSE (YEAR(p.dataTermino) - YEAR(p.dataInicio)) * 12 + MONTH(p.dataTermino) - MONTH(p.dataInicio)
+                    END
+                ), 0),
+                COUNT(p)
+            )
+            FROM projeto p
+            WHERE p.status = :status
+            """)
+    DuracaoProjetosDto somarDuracaoMeses(@Param("status") Status status);
+
+    @Modifying
+    @Query("""
+            INSERT INTO relatorio_membro (membroId, referencias)
+            SELECT m, COUNT(p)
+            FROM projeto p
+            JOIN p.membrosIds m
+            GROUP BY m
+            """)
+    int reconstruirRelatorioMembros();
+
+    //Leitura somente de valores, sem carregar entidades, para o contexto de persistência não crescer durante a exportação
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.ProjetoExportacaoLinhaDto(
+                p.id, p.nome, p.dataInicio, p.previsaoTermino, p.dataTermino, p.orcamento,
+                p.descricao, p.gerenteId, p.status, p.risco, m)
+            FROM projeto p
+            LEFT JOIN p.membrosIds m
+            ORDER BY p.id
+            """)
+    Stream<ProjetoExportacaoLinhaDto> exportarProjetos();
+
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.ProjetoTransicaoDto(p.id, p.status, p.orcamento, p.dataInicio, p.dataTermino)
+            FROM projeto p
+            WHERE p.id = :id
+            """)
+    Optional<ProjetoTransicaoDto> buscarParaTransicao(@Param("id") Long id);
+
+    //Só muda se o status ainda for o esperado: 0 linhas indica que outra requisição alterou ou removeu o projeto antes.
+    //A versão também é incrementada para conflitar com quem estiver alterando a entidade ao mesmo tempo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE projeto p
+            SET p.status = :proximo, p.dataTermino = :dataTermino, p.versao = p.versao + 1
+            WHERE p.id = :id AND p.status = :esperado
+            """)
+    int transicionarStatus(
+            @Param("id") Long id,
+            @Param("esperado") Status esperado,
+            @Param("proximo") Status proximo,
+            @Param("dataTermino") LocalDate dataTermino
+    );
+
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.ProjetoTransicaoDto(p.id, p.status, p.orcamento, p.dataInicio, p.dataTermino)
+            FROM projeto p
+            WHERE p.id IN (:ids)
+            """)
+    List<ProjetoTransicaoDto> buscarParaTransicao(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.ProjetoTransicaoDto(p.id, p.status, p.orcamento, p.dataInicio, p.dataTermino)
+            FROM projeto p
+            WHERE (:status IS NULL OR p.status = :status)
+            AND (:gerenteId IS NULL OR p.gerenteId = :gerenteId)
+            ORDER BY p.id
+            """)
+    List<ProjetoTransicaoDto> buscarParaTransicao(@Param("status") Status status, @Param("gerenteId") Long gerenteId, Limit limite);
+
+    //Versão em lote, para projetos que estão no mesmo status; dataTermino nula mantém a data de cada projeto
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE projeto p
+            SET p.status = :proximo, p.dataTermino = COALESCE(:dataTermino, p.dataTermino), p.versao = p.versao + 1
+            WHERE p.id IN (:ids) AND p.status = :esperado
+            """)
+    int transicionarStatusEmLote(
+            @Param("ids") Collection<Long> ids,
+            @Param("esperado") Status esperado,
+            @Param("proximo") Status proximo,
+            @Param("dataTermino") LocalDate dataTermino
+    );
+
+    //Página da reclassificação de risco por ID (keyset), sem OFFSET
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.ProjetoRiscoDto(p.id, p.orcamento, p.dataInicio, p.previsaoTermino, p.risco)
+            FROM projeto p
+            WHERE p.id > :cursor
+            ORDER BY p.id
+            """)
+    List<ProjetoRiscoDto> buscarParaReclassificacao(@Param("cursor") Long cursor, Limit limite);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE projeto p SET p.risco = :risco, p.versao = p.versao + 1 WHERE p.id IN (:ids)")
+    int atualizarRisco(@Param("ids") Collection<Long> ids, @Param("risco") ClassificacaoRisco risco);
 }
@@ -0,0 +1,38 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.model.dto.ProjetoFiltroDto;
+import com.example.cadastroProjetos.model.entity.ProjetoEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProjetoSpecifications {
+
+    private ProjetoSpecifications() {
+    }
+
+    //Cada filtro preenchido vira uma condição no WHERE
+    public static Specification<ProjetoEntity> filtrar(ProjetoFiltroDto filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> condicoes = new ArrayList<>();
+
+            if (filtro.status() != null) condicoes.add(cb.equal(root.get("status"), filtro.status()));
+            if (filtro.risco() != null) condicoes.add(cb.equal(root.get("risco"), filtro.risco()));
+            if (filtro.gerenteId() != null) condicoes.add(cb.equal(root.get("gerenteId"), filtro.gerenteId()));
+            if (filtro.dataInicioDe() != null) condicoes.add(cb.greaterThanOrEqualTo(root.get("dataInicio"), filtro.dataInicioDe()));
+            if (filtro.dataInicioAte() != null) condicoes.add(cb.lessThanOrEqualTo(root.get("dataInicio"), filtro.dataInicioAte()));
+            if (filtro.previsaoTerminoDe() != null) condicoes.add(cb.greaterThanOrEqualTo(root.get("previsaoTermino"), filtro.previsaoTerminoDe()));
+            if (filtro.previsaoTerminoAte() != null) condicoes.add(cb.lessThanOrEqualTo(root.get("previsaoTermino"), filtro.previsaoTerminoAte()));
+            if (filtro.orcamentoMinimo() != null) condicoes.add(cb.greaterThanOrEqualTo(root.get("orcamento"), filtro.orcamentoMinimo()));
+            if (filtro.orcamentoMaximo() != null) condicoes.add(cb.lessThanOrEqualTo(root.get("orcamento"), filtro.orcamentoMaximo()));
+
+            return cb.and(condicoes.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<ProjetoEntity> depoisDoCursor(Long cursor) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), cursor);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.model.entity.RelatorioMembroEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RelatorioMembroRepository extends JpaRepository<RelatorioMembroEntity, Long> {
+
+    @Query("SELECT r.membroId FROM relatorio_membro r WHERE r.membroId IN (:membrosIds)")
+    List<Long> buscarExistentes(@Param("membrosIds") Collection<Long> membrosIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE relatorio_membro r SET r.referencias = r.referencias + :quantidade WHERE r.membroId IN (:membrosIds)")
+    int ajustar(@Param("membrosIds") Collection<Long> membrosIds, @Param("quantidade") long quantidade);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM relatorio_membro r WHERE r.referencias <= 0")
+    int removerSemReferencias();
+
+    @Modifying
+    @Query("INSERT INTO relatorio_membro (membroId, referencias) VALUES (:membroId, :referencias)")
+    int inserir(@Param("membroId") Long membroId, @Param("referencias") long referencias);
+}
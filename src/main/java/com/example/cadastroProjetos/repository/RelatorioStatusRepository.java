@@ -0,0 +1,51 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.model.dto.RelatorioStatusDto;
+import com.example.cadastroProjetos.model.entity.RelatorioStatusEntity;
+import com.example.cadastroProjetos.model.enums.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface RelatorioStatusRepository extends JpaRepository<RelatorioStatusEntity, Status> {
+
+    //Incremento feito pelo próprio banco, sem risco de perder atualizações concorrentes
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE relatorio_status r
+            SET r.quantidade = r.quantidade + :quantidade,
+                r.totalOrcado = r.totalOrcado + :orcamento,
+                r.totalMesesDuracao = r.totalMesesDuracao + :meses
+            WHERE r.status = :status
+            """)
+    int ajustar(
+            @Param("status") Status status,
+            @Param("quantidade") long quantidade,
+            @Param("orcamento") BigDecimal orcamento,
+            @Param("meses") long meses
+    );
+
+    @Modifying
+    @Query("""
+            INSERT INTO relatorio_status (status, quantidade, totalOrcado, totalMesesDuracao)
+            VALUES (:status, :quantidade, :orcamento, :meses)
+            """)
+    int inserir(
+            @Param("status") Status status,
+            @Param("quantidade") long quantidade,
+            @Param("orcamento") BigDecimal orcamento,
+            @Param("meses") long meses
+    );
+
+    //Lido direto do banco para não devolver entidades desatualizadas pelos incrementos em lote
+    @Query("""
+            SELECT new com.example.cadastroProjetos.model.dto.RelatorioStatusDto(r.status, r.quantidade, r.totalOrcado, r.totalMesesDuracao)
+            FROM relatorio_status r
+            WHERE r.quantidade > 0
+            """)
+    List<RelatorioStatusDto> buscarTotais();
+}
@@ -0,0 +1,63 @@
+package com.example.cadastroProjetos.service;
+
+import com.example.cadastroProjetos.customException.RegraNegocioException;
+import com.example.cadastroProjetos.model.entity.MembroAlocacaoEntity;
+import com.example.cadastroProjetos.repository.MembroAlocacaoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+//Reserva no banco a vaga de cada membro em projetos ativos, na mesma transação da alteração do projeto.
+//A validação prévia dá a mensagem detalhada; esta reserva impede que requisições simultâneas passem do limite
+@Service
+public class AlocacaoMembroService {
+
+    public static final int LIMITE_PROJETOS_ATIVOS = 3;
+
+    @Autowired
+    private MembroAlocacaoRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void alocar(Collection<Long> membrosIds) {
+        Map<Long, Integer> quantidades = new HashMap<>();
+        membrosIds.forEach(membroId -> quantidades.merge(membroId, 1, Integer::sum));
+        alocar(quantidades);
+    }
+
+    public void alocar(Map<Long, Integer> quantidades) {
+        if (quantidades.isEmpty()) return;
+
+        Map<Long, Integer> novos = new HashMap<>(quantidades);
+        Map<Integer, List<Long>> existentesPorQuantidade = new HashMap<>();
+        for (Long membroId : repository.buscarExistentes(quantidades.keySet())) {
+            existentesPorQuantidade.computeIfAbsent(novos.remove(membroId), chave -> new ArrayList<>()).add(membroId);
+        }
+
+        existentesPorQuantidade.forEach((quantidade, membrosIds) -> {
+            if (repository.alocar(membrosIds, quantidade, LIMITE_PROJETOS_ATIVOS) < membrosIds.size()) throw limiteExcedido();
+        });
+        //Membros novos entram no insert agrupado; dois inserts do mesmo membro ao mesmo tempo violam a chave primária
+        //e o ProjetoService repete a operação
+        novos.forEach((membroId, quantidade) -> {
+            if (quantidade > LIMITE_PROJETOS_ATIVOS) throw limiteExcedido();
+            entityManager.persist(new MembroAlocacaoEntity(membroId, quantidade));
+        });
+    }
+
+    public void liberar(Collection<Long> membrosIds) {
+        if (!membrosIds.isEmpty()) repository.liberar(membrosIds);
+    }
+
+    public void liberarProjetos(Collection<Long> projetosIds) {
+        if (!projetosIds.isEmpty()) repository.liberarDosProjetos(projetosIds);
+    }
+
+    private RegraNegocioException limiteExcedido() {
+        return new RegraNegocioException("Membro já está em " + LIMITE_PROJETOS_ATIVOS + " ou mais projetos");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.cadastroProjetos.service;
 
+import com.example.cadastroProjetos.infra.security.ExecutorSenhas;
 import com.example.cadastroProjetos.model.dto.AuthenticationDto;
 import com.example.cadastroProjetos.model.dto.LoginResponseDto;
 import com.example.cadastroProjetos.model.dto.RegisterDto;
@@ -12,6 +13,8 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class AuthService {
 
@@ -30,22 +33,29 @@ public class AuthService {
     @Autowired
     private TokenService tokenService;
 
-    public ResponseEntity<LoginResponseDto> login(AuthenticationDto data){
-        var username = new UsernamePasswordAuthenticationToken(data.login(), data.senha());
-        var auth = this.authenticationManager.authenticate(username);
+    @Autowired
+    private ExecutorSenhas executorSenhas;
 
+    //A verificação da senha (e a atualização do hash, quando necessária) roda no executor de senhas
+    public CompletableFuture<ResponseEntity<LoginResponseDto>> login(AuthenticationDto data){
+        var username = new UsernamePasswordAuthenticationToken(data.login(), data.senha());
 
-        var token = tokenService.gerarToken((UserEntity) auth.getPrincipal());
-        return ResponseEntity.ok(new LoginResponseDto(token));
+        return executorSenhas.executar("verificar", () -> this.authenticationManager.authenticate(username))
+                .thenApply(auth -> {
+                    var token = tokenService.gerarToken((UserEntity) auth.getPrincipal());
+                    return ResponseEntity.ok(new LoginResponseDto(token));
+                });
     }
 
-    public ResponseEntity<Void> register(RegisterDto data){
-        if(autorizacaoService.loadUserByUsername(data.login()) != null) return ResponseEntity.badRequest().build();
+    public CompletableFuture<ResponseEntity<Void>> register(RegisterDto data){
+        if(autorizacaoService.loadUserByUsername(data.login()) != null) return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
 
-        String senhaCriptografa = passwordEncoder.encode(data.senha());
-        UserEntity user = new UserEntity(data.login(), senhaCriptografa, data.role());
+        return executorSenhas.executar("codificar", () -> passwordEncoder.encode(data.senha()))
+                .thenApply(senhaCriptografa -> {
+                    UserEntity user = new UserEntity(data.login(), senhaCriptografa, data.role());
 
-        this.repository.save(user);
-        return ResponseEntity.ok().build();
+                    this.repository.save(user);
+                    return ResponseEntity.ok().build();
+                });
     }
 }
@@ -4,12 +4,13 @@ import com.example.cadastroProjetos.model.entity.UserEntity;
 import com.example.cadastroProjetos.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AutorizacaoService implements UserDetailsService {
+public class AutorizacaoService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository repository;
@@ -18,4 +19,12 @@ public class AutorizacaoService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return repository.findByLogin(username);
     }
+
+    //Chamado pelo Spring Security após um login válido quando o hash salvo usa outro algoritmo ou custo
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserEntity usuario = (UserEntity) user;
+        usuario.setSenha(newPassword);
+        return repository.save(usuario);
+    }
 }
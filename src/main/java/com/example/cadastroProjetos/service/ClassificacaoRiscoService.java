@@ -0,0 +1,48 @@
+package com.example.cadastroProjetos.service;
+
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+//Regras de risco lidas da configuração uma vez ao subir a aplicação; os limites são todos inclusivos
+@Service
+public class ClassificacaoRiscoService {
+
+    private final BigDecimal orcamentoMaximoBaixo;
+    private final BigDecimal orcamentoMaximoMedio;
+    private final long prazoMaximoBaixoDias;
+    private final long prazoMaximoMedioDias;
+
+    public ClassificacaoRiscoService(
+            @Value("${projeto.risco.orcamento-maximo-baixo:100000}") BigDecimal orcamentoMaximoBaixo,
+            @Value("${projeto.risco.orcamento-maximo-medio:500000}") BigDecimal orcamentoMaximoMedio,
+            @Value("${projeto.risco.prazo-maximo-baixo-dias:90}") long prazoMaximoBaixoDias,
+            @Value("${projeto.risco.prazo-maximo-medio-dias:179}") long prazoMaximoMedioDias) {
+        //Limites fora de ordem deixariam uma faixa impossível; melhor falhar ao subir do que classificar errado
+        if (orcamentoMaximoBaixo.compareTo(orcamentoMaximoMedio) > 0 || prazoMaximoBaixoDias > prazoMaximoMedioDias) {
+            throw new IllegalArgumentException("Os limites de risco baixo não podem ser maiores que os de risco médio");
+        }
+        this.orcamentoMaximoBaixo = orcamentoMaximoBaixo;
+        this.orcamentoMaximoMedio = orcamentoMaximoMedio;
+        this.prazoMaximoBaixoDias = prazoMaximoBaixoDias;
+        this.prazoMaximoMedioDias = prazoMaximoMedioDias;
+    }
+
+    //Baixo: orçamento e prazo dentro dos limites baixos. Médio: orçamento ou prazo na faixa média. Alto: o resto
+    public ClassificacaoRisco classificar(BigDecimal orcamento, LocalDate dataInicio, LocalDate previsaoTermino) {
+        long dias = previsaoTermino.toEpochDay() - dataInicio.toEpochDay();
+        boolean orcamentoBaixo = orcamento.compareTo(orcamentoMaximoBaixo) <= 0;
+
+        if (orcamentoBaixo && dias <= prazoMaximoBaixoDias) {
+            return ClassificacaoRisco.BAIXO;
+        }
+        if ((!orcamentoBaixo && orcamento.compareTo(orcamentoMaximoMedio) <= 0)
+                || (dias > prazoMaximoBaixoDias && dias <= prazoMaximoMedioDias)) {
+            return ClassificacaoRisco.MEDIO;
+        }
+        return ClassificacaoRisco.ALTO;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.cadastroProjetos.service;
+
+import com.example.cadastroProjetos.model.dto.ProjetoExportacaoLinhaDto;
+import com.example.cadastroProjetos.model.dto.ProjetoResponseDto;
+import com.example.cadastroProjetos.repository.ProjetoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//Exporta os projetos em NDJSON (um projeto por linha) enquanto lê do banco, sem montar a lista inteira em memória
+@Service
+public class ExportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportacaoService.class);
+
+    @Autowired
+    private ProjetoRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    //A transação mantém o cursor do banco aberto enquanto a resposta é escrita
+    @Transactional
+    public long exportarProjetos(OutputStream saida) throws IOException {
+        long inicio = System.nanoTime();
+        long totalProjetos = 0;
+        String resultado = "erro";
+
+        try (Stream<ProjetoExportacaoLinhaDto> linhas = repository.exportarProjetos();
+             SequenceWriter escritor = objectMapper.writer().withRootValueSeparator("\n").writeValues(saida)) {
+
+            Iterator<ProjetoExportacaoLinhaDto> iterator = linhas.iterator();
+            ProjetoExportacaoLinhaDto atual = null;
+            List<Long> membros = new ArrayList<>();
+
+            //As linhas chegam ordenadas por ID, então o projeto termina quando o ID muda
+            while (iterator.hasNext()) {
+                ProjetoExportacaoLinhaDto linha = iterator.next();
+
+                if (atual != null && !atual.id().equals(linha.id())) {
+                    escritor.write(transformarDto(atual, membros));
+                    totalProjetos++;
+                    membros = new ArrayList<>();
+                }
+                atual = linha;
+                if (linha.membroId() != null) membros.add(linha.membroId());
+            }
+
+            if (atual != null) {
+                escritor.write(transformarDto(atual, membros));
+                totalProjetos++;
+                //O separador só vai entre os projetos; no NDJSON a última linha também termina com \n
+                escritor.flush();
+                saida.write('\n');
+            }
+            resultado = "sucesso";
+        } finally {
+            registrarMetricas(inicio, totalProjetos, resultado);
+        }
+
+        return totalProjetos;
+    }
+
+    private ProjetoResponseDto transformarDto(ProjetoExportacaoLinhaDto linha, List<Long> membrosIds) {
+        return new ProjetoResponseDto(
+                linha.id(),
+                linha.nome(),
+                linha.dataInicio(),
+                linha.previsaoTermino(),
+                linha.dataTermino(),
+                linha.orcamento(),
+                linha.descricao(),
+                linha.gerenteId(),
+                membrosIds,
+                linha.status(),
+                linha.risco()
+        );
+    }
+
+    private void registrarMetricas(long inicio, long totalProjetos, String resultado) {
+        long duracao = System.nanoTime() - inicio;
+        double segundos = Math.max(duracao / 1_000_000_000.0, 0.001);
+
+        meterRegistry.timer("projeto.exportacao.duracao", "resultado", resultado).record(duracao, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("projeto.exportacao.projetos", "resultado", resultado).increment(totalProjetos);
+
+        log.info("Exportação de projetos finalizada com {}: {} projetos em {} ms ({} projetos/s)",
+                resultado, totalProjetos, TimeUnit.NANOSECONDS.toMillis(duracao), Math.round(totalProjetos / segundos));
+    }
+}
@@ -1,19 +1,141 @@
 package com.example.cadastroProjetos.service;
 
 import com.example.cadastroProjetos.model.dto.MembroDto;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+
 @Service
 public class MembroApiMockada {
 
+    @Autowired
+    private RestTemplate membroRestTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${membro.cache.tamanho-maximo:10000}")
+    private long tamanhoMaximoCache;
+
+    @Value("${membro.cache.ttl-segundos:600}")
+    private long ttlCache;
+
+    @Value("${membro.cache.ttl-negativo-segundos:30}")
+    private long ttlNegativoCache;
+
+    //Membros não encontrados ficam guardados como Optional.empty() (cache negativo)
+    private AsyncLoadingCache<Long, Optional<MembroDto>> cache;
+
+    //Relógio usado para a expiração; os testes trocam por um relógio controlado
+    private Ticker ticker = Ticker.systemTicker();
+
+    @PostConstruct
+    public void iniciarCache(){
+        long ttl = Duration.ofSeconds(ttlCache).toNanos();
+        long ttlNegativo = Duration.ofSeconds(ttlNegativoCache).toNanos();
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new Expiry<Long, Optional<MembroDto>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<MembroDto> membro, long tempoAtual) {
+                        return membro.isPresent() ? ttl : ttlNegativo;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<MembroDto> membro, long tempoAtual, long duracaoAtual) {
+                        return expireAfterCreate(id, membro, tempoAtual);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<MembroDto> membro, long tempoAtual, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                //A busca roda na própria thread de quem pediu; quem pedir o mesmo ID nesse meio tempo aguarda o mesmo resultado
+                .executor(Runnable::run)
+                .buildAsync(new CacheLoader<Long, Optional<MembroDto>>() {
+                    @Override
+                    public Optional<MembroDto> load(Long id) {
+                        return Optional.ofNullable(buscarMembro(id));
+                    }
+
+                    @Override
+                    public Map<Long, Optional<MembroDto>> loadAll(Set<? extends Long> ids) {
+                        Map<Long, MembroDto> encontrados = buscarMembros(ids);
+                        Map<Long, Optional<MembroDto>> membros = new HashMap<>();
+                        for (Long id : ids) {
+                            membros.put(id, Optional.ofNullable(encontrados.get(id)));
+                        }
+                        return membros;
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "membros");
+    }
+
     public MembroDto consultarID(Long id){
-        RestTemplate restTemplate = new RestTemplate();
+        if (id == null) return null;
+
+        try {
+            return cache.get(id).join().orElse(null);
+        } catch (CompletionException ex) {
+            throw desembrulhar(ex);
+        }
+    }
+
+    public Map<Long, MembroDto> consultarIDs(Collection<Long> ids){
+        Set<Long> idsValidos = new HashSet<>(ids);
+        idsValidos.remove(null);
+        if (idsValidos.isEmpty()) return new HashMap<>();
+
+        try {
+            Map<Long, MembroDto> membros = new HashMap<>();
+            cache.getAll(idsValidos).join()
+                    .forEach((id, membro) -> membro.ifPresent(dto -> membros.put(id, dto)));
+            return membros;
+        } catch (CompletionException ex) {
+            throw desembrulhar(ex);
+        }
+    }
+
+    private MembroDto buscarMembro(Long id){
         ResponseEntity<MembroDto> response =
-                restTemplate.
-                        getForEntity("http://localhost:8080/membro/retornarMembro/" + id, MembroDto.class);
+                membroRestTemplate.
+                        getForEntity("/membro/retornarMembro/{id}", MembroDto.class, id);
 
         return response.getBody();
     }
+
+    private Map<Long, MembroDto> buscarMembros(Collection<? extends Long> ids){
+        ResponseEntity<Map<Long, MembroDto>> response =
+                membroRestTemplate.
+                        exchange("/membro/retornarMembros", HttpMethod.POST,
+                                new HttpEntity<>(new ArrayList<>(ids)), new ParameterizedTypeReference<Map<Long, MembroDto>>() {});
+
+        return response.getBody() == null ? new HashMap<>() : response.getBody();
+    }
+
+    private RuntimeException desembrulhar(CompletionException ex){
+        return ex.getCause() instanceof RuntimeException causa ? causa : ex;
+    }
 }
@@ -3,18 +3,39 @@ package com.example.cadastroProjetos.service;
 import com.example.cadastroProjetos.customException.RecursoNaoEncontradoException;
 import com.example.cadastroProjetos.customException.RegraNegocioException;
 import com.example.cadastroProjetos.customException.ValidacaoException;
+import com.example.cadastroProjetos.infra.ExecutorConsultas;
+import com.example.cadastroProjetos.infra.VersaoDados;
 import com.example.cadastroProjetos.model.dto.*;
 import com.example.cadastroProjetos.model.entity.ProjetoEntity;
 import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
 import com.example.cadastroProjetos.model.enums.Status;
 import com.example.cadastroProjetos.repository.ProjetoRepository;
-import jakarta.transaction.Transactional;
+import com.example.cadastroProjetos.repository.ProjetoSpecifications;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -26,43 +47,116 @@ public class ProjetoService {
     @Autowired
     private MembroApiMockada membroApiMockada;
 
+    @Autowired
+    private ExecutorConsultas executorConsultas;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private VersaoDados versaoDados;
+
+    @Autowired
+    private AlocacaoMembroService alocacaoService;
+
+    @Autowired
+    private ClassificacaoRiscoService classificacaoRiscoService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${projeto.lote.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    @Value("${projeto.lote.tamanho-maximo:100000}")
+    private int tamanhoMaximoLote;
+
+    @Value("${projeto.concorrencia.tentativas:3}")
+    private int tentativas;
+
+    private static final int TAMANHO_BLOCO_CONSULTA = 1000;
+    private static final String SQLSTATE_CHAVE_DUPLICADA = "23505";
+
     public void validarEquipe(ProjetoDto data, List<Long> membrosId){
-        validarGerente(data, membrosId);
-        validarQuantidadeMembros(membrosId);
+        List<Long> equipeIds = new ArrayList<>(membrosId);
+        equipeIds.add(data.gerenteId());
+
+        //A consulta dos membros na API roda em paralelo com a contagem de projetos ativos. A contagem fica na thread de
+        //quem chamou, dentro da transação e na mesma conexão: em outra thread cada requisição precisaria de duas conexões
+        //do pool ao mesmo tempo
+        Future<Map<Long, MembroDto>> equipe = executorConsultas.executar(() -> membroApiMockada.consultarIDs(equipeIds));
+
+        try {
+            Map<Long, Long> projetosAtivos = contarProjetosAtivos(membrosId);
+            validarGerente(data, membrosId, executorConsultas.aguardar(equipe).get(data.gerenteId()));
+            validarQuantidadeMembros(membrosId);
+            validarMembros(membrosId, executorConsultas.aguardar(equipe), projetosAtivos);
+        } finally {
+            //Se alguma regra falhar antes, a consulta que ainda estiver rodando é cancelada
+            equipe.cancel(true);
+        }
     }
 
-    public void validarMembroIndividual(Long membroId ) {
-        MembroDto membro = membroApiMockada.consultarID(membroId);
-
+    public void validarMembroIndividual(Long membroId, MembroDto membro, long projetosAtivos) {
         if (membro == null) throw new RecursoNaoEncontradoException("Membro do código " + membroId + " não encontrado");
         if (!membro.cargo().equalsIgnoreCase("funcionário")) throw new RegraNegocioException("Membro com cargo diferente de funcionário");
-        if (!membroPodeSerAlocado(membroId)) throw new RegraNegocioException("Membro com o ID " + membroId + " já está em 3 ou mais projetos");
+        if (projetosAtivos >= 3) throw new RegraNegocioException("Membro com o ID " + membroId + " já está em 3 ou mais projetos");
+    }
+
+    public void validarMembros(List<Long> membrosIds, Map<Long, MembroDto> membros, Map<Long, Long> projetosAtivos){
+        membrosIds.forEach(membroId ->
+                validarMembroIndividual(membroId, membros.get(membroId), projetosAtivos.getOrDefault(membroId, 0L)));
+    }
+
+    public void validarNovosMembros(List<Long> membrosIds){
+        Future<Map<Long, MembroDto>> membros = executorConsultas.executar(() -> membroApiMockada.consultarIDs(membrosIds));
+
+        try {
+            Map<Long, Long> projetosAtivos = contarProjetosAtivos(membrosIds);
+            validarMembros(membrosIds, executorConsultas.aguardar(membros), projetosAtivos);
+        } finally {
+            membros.cancel(true);
+        }
     }
 
     public void validarQuantidadeMembros(List<Long> membrosIds){
         if (membrosIds.isEmpty() || membrosIds.size() > 10) throw new ValidacaoException("Quantidade inválida de membros");
         if (membrosIds.size() != membrosIds.stream().distinct().count()) throw new ValidacaoException("Há membros repetidos");
-
-        membrosIds.forEach(this::validarMembroIndividual);
     }
 
-    public void validarGerente(ProjetoDto data, List<Long> membrosIds){
-        MembroDto gerente = membroApiMockada.consultarID(data.gerenteId());
-
+    public void validarGerente(ProjetoDto data, List<Long> membrosIds, MembroDto gerente){
         if(gerente == null) throw new RecursoNaoEncontradoException("Gerente não encontrado");
         if(!gerente.cargo().equalsIgnoreCase("gerente")) throw new RegraNegocioException("Membro não pode ser um Gerente");
         if(membrosIds.contains(data.gerenteId())) throw new RegraNegocioException("Gerente não pode ser um membro");
     }
 
-    public boolean membroPodeSerAlocado(long membroId) {
-        return repository.contarProjetosMembroAtivo(membroId, List.of(Status.ENCERRADO, Status.CANCELADO)) < 3;
+    //Quantidade de projetos ativos de cada membro, em uma única consulta
+    public Map<Long, Long> contarProjetosAtivos(Collection<Long> membrosIds) {
+        Map<Long, Long> projetosAtivos = new HashMap<>();
+        repository.contarProjetosMembrosAtivos(membrosIds, List.of(Status.ENCERRADO, Status.CANCELADO))
+                .forEach(contagem -> projetosAtivos.put(contagem.membroId(), contagem.quantidadeProjetos()));
+        return projetosAtivos;
     }
 
     public void criar(ProjetoDto data) {
-        //Validação Gerente e Membro
-        List<Long> membrosIds = data.membrosIds();
-        validarEquipe(data, membrosIds);
+        executarComRetentativa(() -> {
+            //Validação Gerente e Membro
+            List<Long> membrosIds = data.membrosIds();
+            validarEquipe(data, membrosIds);
+
+            ProjetoEntity projeto = montarProjeto(data);
+
+            repository.save(projeto);
+            relatorioService.registrarProjeto(projeto);
+            alocacaoService.alocar(membrosIds);
+            versaoDados.registrarAlteracao();
+        });
+    }
 
+    private ProjetoEntity montarProjeto(ProjetoDto data) {
         //Criação Projeto
         ProjetoEntity projeto = new ProjetoEntity();
         projeto.setNome(data.nome());
@@ -75,96 +169,197 @@ public class ProjetoService {
         projeto.setMembrosIds(data.membrosIds());
         projeto.setStatus(Status.EM_ANALISE);
 
-        //Validar Risco
-        long dias = ChronoUnit.DAYS.between(data.dataInicio(), data.previsaoTermino());
+        projeto.setRisco(classificarRisco(data.orcamento(), data.dataInicio(), data.previsaoTermino()));
+        return projeto;
+    }
 
-        if (data.orcamento().compareTo(new BigDecimal("100000")) <= 0 && dias <= 90) {
-            projeto.setRisco(ClassificacaoRisco.BAIXO);
-        } else if ((data.orcamento().compareTo(new BigDecimal("100001")) > 0 && data.orcamento().compareTo(new BigDecimal("500000")) <= 0) || (dias > 90 && dias < 180)) {
-            projeto.setRisco(ClassificacaoRisco.MEDIO);
-        } else {
-            projeto.setRisco(ClassificacaoRisco.ALTO);
+    //Criação em lote: as consultas de membros e projetos ativos são feitas uma vez para o lote inteiro e os projetos
+    //válidos são gravados em blocos, cada bloco na sua própria transação e com inserts agrupados
+    public List<ResultadoLoteDto> criarLote(List<ProjetoDto> projetos) {
+        if (projetos == null || projetos.isEmpty()) throw new ValidacaoException("Lista de projetos é obrigatória");
+        if (projetos.size() > tamanhoMaximoLote) throw new ValidacaoException("O lote aceita no máximo " + tamanhoMaximoLote + " projetos");
+
+        Set<Long> membrosIds = new HashSet<>();
+        Set<Long> equipeIds = new HashSet<>();
+        for (ProjetoDto projeto : projetos) {
+            if (projeto == null) continue;
+            if (projeto.membrosIds() != null) projeto.membrosIds().stream().filter(Objects::nonNull).forEach(membrosIds::add);
+            if (projeto.gerenteId() != null) equipeIds.add(projeto.gerenteId());
+        }
+        equipeIds.addAll(membrosIds);
+
+        Map<Long, MembroDto> equipe = consultarEmBlocos(equipeIds, membroApiMockada::consultarIDs);
+        //As contagens no banco ficam na thread de quem chamou, um bloco por vez, para o lote não ocupar várias conexões do pool
+        Map<Long, Long> projetosAtivos = new HashMap<>();
+        List<Long> listaMembros = new ArrayList<>(membrosIds);
+        for (int i = 0; i < listaMembros.size(); i += TAMANHO_BLOCO_CONSULTA) {
+            projetosAtivos.putAll(contarProjetosAtivos(listaMembros.subList(i, Math.min(i + TAMANHO_BLOCO_CONSULTA, listaMembros.size()))));
         }
 
-        repository.save(projeto);
-    }
-
-    private Map<Status,Long> qtdProjetosStatus(List<ProjetoEntity> projetos){
-        Map<Status, Long> qtdProjetosStatus = new HashMap<>();
-        for (ProjetoEntity projeto : projetos){
-            Status status = projeto.getStatus();
+        ResultadoLoteDto[] resultados = new ResultadoLoteDto[projetos.size()];
+        List<Integer> indicesValidos = new ArrayList<>();
 
-            if(!qtdProjetosStatus.containsKey(status)){
-                qtdProjetosStatus.put(status, 0L);
+        for (int i = 0; i < projetos.size(); i++) {
+            ProjetoDto data = projetos.get(i);
+            try {
+                validarItemLote(data, equipe, projetosAtivos);
+            } catch (RecursoNaoEncontradoException | RegraNegocioException | ValidacaoException ex) {
+                resultados[i] = new ResultadoLoteDto(i, null, ex.getMessage());
+                continue;
             }
+            //Projetos aceitos contam no limite de projetos dos membros para os próximos itens do lote
+            data.membrosIds().forEach(membroId -> projetosAtivos.merge(membroId, 1L, Long::sum));
+            indicesValidos.add(i);
+        }
 
-            qtdProjetosStatus.put(status, qtdProjetosStatus.get(status) + 1);
+        for (int inicio = 0; inicio < indicesValidos.size(); inicio += tamanhoBloco) {
+            List<ProjetoDto> bloco = indicesValidos.subList(inicio, Math.min(inicio + tamanhoBloco, indicesValidos.size()))
+                    .stream().map(projetos::get).toList();
+            List<Long> ids = gravarBloco(bloco);
+            for (int j = 0; j < ids.size(); j++) {
+                int indice = indicesValidos.get(inicio + j);
+                resultados[indice] = ids.get(j) != null
+                        ? new ResultadoLoteDto(indice, ids.get(j), null)
+                        : gravarIndividual(indice, projetos.get(indice));
+            }
         }
-        return qtdProjetosStatus;
+
+        return Arrays.asList(resultados);
     }
 
-    private Map<Status,BigDecimal> totalOrcadoStatus(List<ProjetoEntity> projetos){
-        Map<Status, BigDecimal> totalOrcadoStatus = new HashMap<>();
-        BigDecimal valorAtual = null;
-        for (ProjetoEntity projeto : projetos){
-            Status status = projeto.getStatus();
-            valorAtual = totalOrcadoStatus.getOrDefault(status,BigDecimal.ZERO);
+    //Grava o bloco inteiro com retentativa; as entidades são montadas a cada tentativa porque as da tentativa desfeita
+    //ficam com ID e versão. Se o bloco continuar falhando, devolve IDs nulos e cada projeto é gravado individualmente
+    private List<Long> gravarBloco(List<ProjetoDto> bloco) {
+        try {
+            return executarComRetentativa(() -> {
+                List<ProjetoEntity> entidades = bloco.stream().map(this::montarProjeto).toList();
+                repository.saveAll(entidades);
+                relatorioService.registrarProjetos(entidades);
+                alocacaoService.alocar(contarAlocacoes(entidades));
+                versaoDados.registrarAlteracao();
+                return entidades.stream().map(ProjetoEntity::getId).toList();
+            });
+        } catch (DataAccessException | RegraNegocioException ex) {
+            //Um membro pode ter sido alocado em outro projeto depois da validação; o bloco inteiro é desfeito
+            return Collections.nCopies(bloco.size(), null);
+        }
+    }
 
-            totalOrcadoStatus.put(status, valorAtual.add(projeto.getOrcamento()));
+    private ResultadoLoteDto gravarIndividual(int indice, ProjetoDto data) {
+        try {
+            Long id = executarComRetentativa(() -> {
+                ProjetoEntity projeto = montarProjeto(data);
+                repository.save(projeto);
+                relatorioService.registrarProjeto(projeto);
+                alocacaoService.alocar(projeto.getMembrosIds());
+                versaoDados.registrarAlteracao();
+                return projeto.getId();
+            });
+            return new ResultadoLoteDto(indice, id, null);
+        } catch (RegraNegocioException ex) {
+            return new ResultadoLoteDto(indice, null, ex.getMessage());
+        } catch (ConcurrencyFailureException ex) {
+            return new ResultadoLoteDto(indice, null, "Conflito com outra gravação simultânea, tente novamente");
+        } catch (DataAccessException ex) {
+            return new ResultadoLoteDto(indice, null, "Erro ao gravar o projeto");
         }
-        return totalOrcadoStatus;
     }
 
-    private Long mediaDuracaoProjetos(List<ProjetoEntity> projetos){
-        Long qtdProjetos = 0L;
-        Long meses = 0L;
+    private Map<Long, Integer> contarAlocacoes(List<ProjetoEntity> projetos) {
+        Map<Long, Integer> quantidades = new HashMap<>();
+        projetos.forEach(projeto -> projeto.getMembrosIds().forEach(membroId -> quantidades.merge(membroId, 1, Integer::sum)));
+        return quantidades;
+    }
+
+    private void validarItemLote(ProjetoDto data, Map<Long, MembroDto> equipe, Map<Long, Long> projetosAtivos) {
+        if (data == null) throw new ValidacaoException("Projeto não informado");
 
-        for(ProjetoEntity projeto : projetos){
-            Status status = projeto.getStatus();
+        Set<ConstraintViolation<ProjetoDto>> violacoes = validator.validate(data);
+        if (!violacoes.isEmpty()) {
+            throw new ValidacaoException(violacoes.stream()
+                    .map(violacao -> violacao.getPropertyPath() + " " + violacao.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
 
-            if(status == Status.ENCERRADO){
-                Long difTempo = ChronoUnit.MONTHS.between(projeto.getDataInicio(), projeto.getDataTermino());
-                meses = meses + difTempo;
-                qtdProjetos++;
-            }
+        List<Long> membrosIds = data.membrosIds() != null ? data.membrosIds() : List.of();
+        validarGerente(data, membrosIds, equipe.get(data.gerenteId()));
+        validarQuantidadeMembros(membrosIds);
+        validarMembros(membrosIds, equipe, projetosAtivos);
+    }
+
+    //Consultas à API com muitos IDs são divididas em blocos (tamanho da requisição), rodando em paralelo
+    private <T> Map<Long, T> consultarEmBlocos(Collection<Long> ids, Function<List<Long>, Map<Long, T>> consulta) {
+        List<Long> lista = new ArrayList<>(ids);
+        List<Future<Map<Long, T>>> blocos = new ArrayList<>();
+        for (int i = 0; i < lista.size(); i += TAMANHO_BLOCO_CONSULTA) {
+            List<Long> bloco = lista.subList(i, Math.min(i + TAMANHO_BLOCO_CONSULTA, lista.size()));
+            blocos.add(executorConsultas.executar(() -> consulta.apply(bloco)));
         }
 
-        Long mediaDuracaoProjetos = 0L;
-        if(qtdProjetos > 0) {
-            mediaDuracaoProjetos = meses / qtdProjetos;
-        } else {
-            mediaDuracaoProjetos = 0L;
+        Map<Long, T> resultado = new HashMap<>();
+        try {
+            blocos.forEach(bloco -> resultado.putAll(executorConsultas.aguardar(bloco)));
+        } finally {
+            blocos.forEach(bloco -> bloco.cancel(true));
         }
-        return mediaDuracaoProjetos;
+        return resultado;
     }
 
-    private Long qtdMembrosUnicos(List<ProjetoEntity> projetos){
+    //Validar Risco
+    public ClassificacaoRisco classificarRisco(BigDecimal orcamento, LocalDate dataInicio, LocalDate previsaoTermino) {
+        return classificacaoRiscoService.classificar(orcamento, dataInicio, previsaoTermino);
+    }
 
-        Set<Long> qtdMembroUnico = new HashSet<>();
+    //Aplica as regras de risco atuais a todos os projetos, lendo por ID em blocos (keyset) e gravando só os que mudaram,
+    //com um UPDATE por classificação e cada bloco na sua própria transação. Orçamento e datas não mudam depois da
+    //criação, então a leitura pode ficar fora da transação do bloco
+    public ReclassificacaoRiscoDto reclassificarRiscos() {
+        long analisados = 0;
+        long alterados = 0;
+        Long cursor = 0L;
+
+        List<ProjetoRiscoDto> bloco;
+        while (!(bloco = repository.buscarParaReclassificacao(cursor, Limit.of(tamanhoBloco))).isEmpty()) {
+            Map<ClassificacaoRisco, List<Long>> mudancas = new EnumMap<>(ClassificacaoRisco.class);
+            for (ProjetoRiscoDto projeto : bloco) {
+                if (projeto.orcamento() == null || projeto.dataInicio() == null || projeto.previsaoTermino() == null) continue;
+
+                ClassificacaoRisco risco = classificarRisco(projeto.orcamento(), projeto.dataInicio(), projeto.previsaoTermino());
+                if (risco != projeto.risco()) mudancas.computeIfAbsent(risco, chave -> new ArrayList<>()).add(projeto.id());
+            }
 
-        for(ProjetoEntity projeto: projetos){
-            for(Long membroId : projeto.getMembrosIds()){
-                qtdMembroUnico.add(membroId);
+            if (!mudancas.isEmpty()) {
+                transactionTemplate.executeWithoutResult(transacao -> {
+                    mudancas.forEach((risco, ids) -> repository.atualizarRisco(ids, risco));
+                    versaoDados.registrarAlteracao();
+                });
+                alterados += mudancas.values().stream().mapToLong(List::size).sum();
             }
+            analisados += bloco.size();
+            cursor = bloco.get(bloco.size() - 1).id();
         }
-        long qtdMembrosUnicos = qtdMembroUnico.size();
-        return qtdMembrosUnicos;
+
+        return new ReclassificacaoRiscoDto(analisados, alterados);
     }
 
     public RelatorioDto retornarDadosRelatorio(){
-        List<ProjetoEntity> projetos = repository.findAll();
-        RelatorioDto relatorioDto = new RelatorioDto(
-                qtdProjetosStatus(projetos),
-                totalOrcadoStatus(projetos),
-                mediaDuracaoProjetos(projetos),
-                qtdMembrosUnicos(projetos)
-        );
+        return relatorioService.gerar();
+    }
 
-        return relatorioDto;
+    public RelatorioDto reconstruirRelatorio(){
+        RelatorioDto relatorio = relatorioService.reconstruir();
+        versaoDados.registrarAlteracao();
+        return relatorio;
     }
 
     public ProjetoResponseDto transformarDto(ProjetoEntity projeto) {
+        return transformarDto(projeto, projeto.getMembrosIds());
+    }
+
+    public ProjetoResponseDto transformarDto(ProjetoEntity projeto, List<Long> membrosIds) {
         return new ProjetoResponseDto(
+                projeto.getId(),
                 projeto.getNome(),
                 projeto.getDataInicio(),
                 projeto.getPrevisaoTermino(),
@@ -172,103 +367,319 @@ public class ProjetoService {
                 projeto.getOrcamento(),
                 projeto.getDescricao(),
                 projeto.getGerenteID(),
-                projeto.getMembrosIds(),
+                membrosIds,
                 projeto.getStatus(),
                 projeto.getRisco()
         );
     }
 
-    public List<ProjetoResponseDto> mostrarProjetos() {
-        return repository.findAll().stream()
-                .map(this::transformarDto)
+    //Busca os membros de todos os projetos da página em uma única consulta, sem passar pela coleção lazy de cada projeto
+    private List<ProjetoResponseDto> transformarDtos(List<ProjetoEntity> projetos) {
+        if (projetos.isEmpty()) return List.of();
+
+        Map<Long, List<Long>> membrosPorProjeto = new HashMap<>();
+        repository.buscarMembrosDosProjetos(projetos.stream().map(ProjetoEntity::getId).toList())
+                .forEach(membro -> membrosPorProjeto
+                        .computeIfAbsent(membro.projetoId(), id -> new ArrayList<>())
+                        .add(membro.membroId()));
+
+        return projetos.stream()
+                .map(projeto -> transformarDto(projeto, membrosPorProjeto.getOrDefault(projeto.getId(), List.of())))
                 .toList();
     }
 
-    @Transactional
+    public ProjetoPaginaDto mostrarProjetos(ProjetoFiltroDto filtro, Pageable pageable) {
+        Page<ProjetoEntity> pagina = repository.findAll(ProjetoSpecifications.filtrar(filtro), pageable);
+
+        return new ProjetoPaginaDto(
+                transformarDtos(pagina.getContent()),
+                pagina.getTotalElements(),
+                pagina.getTotalPages(),
+                null
+        );
+    }
+
+    //Paginação por cursor: busca os projetos com ID maior que o último retornado, sem contar o total
+    public ProjetoPaginaDto mostrarProjetos(ProjetoFiltroDto filtro, Long cursor, int tamanho) {
+        Specification<ProjetoEntity> especificacao = ProjetoSpecifications.filtrar(filtro)
+                .and(ProjetoSpecifications.depoisDoCursor(cursor));
+
+        List<ProjetoEntity> projetos = repository.findBy(especificacao, consulta -> consulta
+                .sortBy(Sort.by("id"))
+                .limit(tamanho + 1)
+                .all());
+
+        boolean temProximo = projetos.size() > tamanho;
+        List<ProjetoEntity> pagina = temProximo ? projetos.subList(0, tamanho) : projetos;
+
+        return new ProjetoPaginaDto(
+                transformarDtos(pagina),
+                null,
+                null,
+                temProximo ? pagina.get(pagina.size() - 1).getId() : null
+        );
+    }
+
     public ProjetoResponseDto adicionarMembros(long id, ProjetoRequestDto data) {
-        ProjetoEntity projeto = repository.findById(id).
-                orElseThrow(() ->
-                        new RecursoNaoEncontradoException("Projeto com ID " + id + " não encontrado")
-                );
+        return executarComRetentativa(() -> {
+            ProjetoEntity projeto = repository.findById(id).
+                    orElseThrow(() ->
+                            new RecursoNaoEncontradoException("Projeto com ID " + id + " não encontrado")
+                    );
 
-        List<Long> membrosAtuais = projeto.getMembrosIds();
-        List<Long> membrosRequest = data.membrosIds();
+            List<Long> membrosAtuais = projeto.getMembrosIds();
+            List<Long> membrosRequest = data.membrosIds();
 
-        if(membrosRequest == null || membrosRequest.isEmpty()){
-            throw new ValidacaoException("Lista de novos membros é obrigatória");
-        }
+            if(membrosRequest == null || membrosRequest.isEmpty()){
+                throw new ValidacaoException("Lista de novos membros é obrigatória");
+            }
 
-        if (membrosAtuais.size() + membrosRequest.size() > 10) throw new ValidacaoException("Quantidade de membros excede 10");
+            if (membrosAtuais.size() + membrosRequest.size() > 10) throw new ValidacaoException("Quantidade de membros excede 10");
 
-        for(Long idRequest : membrosRequest){
-            if(membrosAtuais.contains(idRequest)) throw new ValidacaoException("Membro com o ID " + idRequest +" já está incluso no projeto");
-        }
+            for(Long idRequest : membrosRequest){
+                if(membrosAtuais.contains(idRequest)) throw new ValidacaoException("Membro com o ID " + idRequest +" já está incluso no projeto");
+            }
 
-        membrosRequest.forEach(this::validarMembroIndividual);
+            validarNovosMembros(membrosRequest);
 
-        membrosAtuais.addAll(membrosRequest);
-        projeto.setMembrosIds(membrosAtuais);
-        return transformarDto(projeto);
+            membrosAtuais.addAll(membrosRequest);
+            projeto.setMembrosIds(membrosAtuais);
+            relatorioService.registrarMembros(membrosRequest);
+            if (ativo(projeto.getStatus())) alocacaoService.alocar(membrosRequest);
+            versaoDados.registrarAlteracao();
+            return transformarDto(projeto);
+        });
     }
 
     public Status retornaProximoStatus(Status status){
-        switch(status){
-            case EM_ANALISE:
-                return Status.ANALISE_REALIZADA;
-            case ANALISE_REALIZADA:
-                return Status.ANALISE_APROVADA;
-            case ANALISE_APROVADA:
-                return Status.INICIADO;
-            case INICIADO:
-                return Status.PLANEJADO;
-            case PLANEJADO:
-                return Status.EM_ANDAMENTO;
-            case EM_ANDAMENTO:
-                return Status.ENCERRADO;
-            default:
-                throw new RegraNegocioException("Não é possível mudar o status de um projeto "+ status.getDescricao().toLowerCase());
+        Status proximo = status.getProximo();
+        if (proximo == null) {
+            throw new RegraNegocioException("Não é possível mudar o status de um projeto "+ status.getDescricao().toLowerCase());
         }
+        return proximo;
     }
 
-    public void avancarStatus(long id){
-        ProjetoEntity projeto = repository.findById(id)
-                .orElseThrow(() ->
-                        new RecursoNaoEncontradoException("Projeto com ID " + id + " não encontrado")
-                );
-        Status proximoStatus = retornaProximoStatus(projeto.getStatus());
+    public void avancarStatus(long id) {
+        executarComRetentativa(() -> avancar(id));
+    }
+
+    public void cancelarProjeto(long id) {
+        executarComRetentativa(() -> cancelar(id));
+    }
+
+    private ResultadoTransicaoDto avancar(long id) {
+        ProjetoTransicaoDto projeto = buscarParaTransicao(id);
+        Status proximoStatus = retornaProximoStatus(projeto.status());
+        LocalDate dataTermino = proximoStatus == Status.ENCERRADO ? LocalDate.now() : projeto.dataTermino();
+
+        transicionarStatus(id, projeto, proximoStatus, dataTermino);
+        return new ResultadoTransicaoDto(id, projeto.status(), proximoStatus, null);
+    }
+
+    private ResultadoTransicaoDto cancelar(long id) {
+        ProjetoTransicaoDto projeto = buscarParaTransicao(id);
+        validarCancelamento(projeto.status());
+
+        transicionarStatus(id, projeto, Status.CANCELADO, projeto.dataTermino());
+        return new ResultadoTransicaoDto(id, projeto.status(), Status.CANCELADO, null);
+    }
+
+    private void validarCancelamento(Status status) {
+        if(status == Status.ENCERRADO || status ==  Status.CANCELADO){
+            throw new ValidacaoException("Projeto já está com status de " + status);
+        }
+    }
+
+    public List<ResultadoTransicaoDto> avancarStatusLote(TransicaoLoteDto data) {
+        return transicionarLote(data, false);
+    }
+
+    public List<ResultadoTransicaoDto> cancelarLote(TransicaoLoteDto data) {
+        return transicionarLote(data, true);
+    }
+
+    //Transição em lote: os projetos são lidos de uma vez, validados um a um e gravados com um UPDATE por status atual
+    //e bloco, cada bloco na sua própria transação. O resultado segue a ordem dos IDs (ou dos projetos do filtro)
+    private List<ResultadoTransicaoDto> transicionarLote(TransicaoLoteDto data, boolean cancelar) {
+        if (data == null) throw new ValidacaoException("Informe os IDs ou um filtro de status ou gerente");
+
+        Map<Long, ProjetoTransicaoDto> projetos = buscarParaTransicaoLote(data);
+        Map<Long, ResultadoTransicaoDto> resultados = new LinkedHashMap<>();
+        Map<Status, List<ProjetoTransicaoDto>> porStatus = new EnumMap<>(Status.class);
+
+        projetos.forEach((id, projeto) -> {
+            if (projeto == null) {
+                resultados.put(id, new ResultadoTransicaoDto(id, null, null, "Projeto com ID " + id + " não encontrado"));
+                return;
+            }
+            try {
+                if (cancelar) validarCancelamento(projeto.status());
+                else retornaProximoStatus(projeto.status());
+            } catch (RegraNegocioException | ValidacaoException ex) {
+                resultados.put(id, new ResultadoTransicaoDto(id, projeto.status(), null, ex.getMessage()));
+                return;
+            }
+            resultados.put(id, null);
+            porStatus.computeIfAbsent(projeto.status(), status -> new ArrayList<>()).add(projeto);
+        });
+
+        porStatus.forEach((status, doStatus) -> {
+            Status proximoStatus = cancelar ? Status.CANCELADO : retornaProximoStatus(status);
+            //Só quem chega a encerrado ganha data de término; nos demais o UPDATE mantém a data de cada projeto
+            LocalDate dataTermino = proximoStatus == Status.ENCERRADO ? LocalDate.now() : null;
+
+            for (int inicio = 0; inicio < doStatus.size(); inicio += tamanhoBloco) {
+                List<ProjetoTransicaoDto> bloco = doStatus.subList(inicio, Math.min(inicio + tamanhoBloco, doStatus.size()));
+                transicionarBloco(bloco, status, proximoStatus, dataTermino, cancelar)
+                        .forEach(resultado -> resultados.put(resultado.projetoId(), resultado));
+            }
+        });
+
+        return new ArrayList<>(resultados.values());
+    }
+
+    private Map<Long, ProjetoTransicaoDto> buscarParaTransicaoLote(TransicaoLoteDto data) {
+        Map<Long, ProjetoTransicaoDto> projetos = new LinkedHashMap<>();
+        boolean temFiltro = data.status() != null || data.gerenteId() != null;
+
+        if (data.ids() != null && !data.ids().isEmpty()) {
+            if (temFiltro) throw new ValidacaoException("Informe os IDs ou um filtro de status ou gerente, não os dois");
+            data.ids().stream().filter(Objects::nonNull).forEach(id -> projetos.put(id, null));
+            if (projetos.size() > tamanhoMaximoLote) throw new ValidacaoException("O lote aceita no máximo " + tamanhoMaximoLote + " projetos");
+
+            //IDs não encontrados continuam no mapa com valor nulo
+            List<Long> ids = new ArrayList<>(projetos.keySet());
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_CONSULTA) {
+                repository.buscarParaTransicao(ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CONSULTA, ids.size())))
+                        .forEach(projeto -> projetos.put(projeto.id(), projeto));
+            }
+            return projetos;
+        }
 
-        if(proximoStatus == Status.ENCERRADO){
-            projeto.setDataTermino(LocalDate.now());
+        if (!temFiltro) {
+            throw new ValidacaoException("Informe os IDs ou um filtro de status ou gerente");
         }
+        //Busca uma linha a mais que o limite só para saber se o filtro passou dele, sem carregar o resto
+        List<ProjetoTransicaoDto> filtrados = repository.buscarParaTransicao(data.status(), data.gerenteId(), Limit.of(tamanhoMaximoLote + 1));
+        if (filtrados.size() > tamanhoMaximoLote) {
+            throw new ValidacaoException("O filtro encontrou mais de " + tamanhoMaximoLote + " projetos; o lote aceita no máximo " + tamanhoMaximoLote);
+        }
+        filtrados.forEach(projeto -> projetos.put(projeto.id(), projeto));
+        return projetos;
+    }
+
+    private List<ResultadoTransicaoDto> transicionarBloco(List<ProjetoTransicaoDto> bloco, Status status, Status proximoStatus,
+                                                         LocalDate dataTermino, boolean cancelar) {
+        List<Long> ids = bloco.stream().map(ProjetoTransicaoDto::id).toList();
+        try {
+            transactionTemplate.executeWithoutResult(transacao -> {
+                if (repository.transicionarStatusEmLote(ids, status, proximoStatus, dataTermino) != ids.size()) {
+                    throw new OptimisticLockingFailureException("Projetos do bloco foram alterados por outra requisição");
+                }
+                relatorioService.registrarTransicoes(status, proximoStatus, bloco, dataTermino);
+                if (!ativo(proximoStatus)) alocacaoService.liberarProjetos(ids);
+                versaoDados.registrarAlteracao();
+            });
+            return ids.stream().map(id -> new ResultadoTransicaoDto(id, status, proximoStatus, null)).toList();
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException ex) {
+            if (!conflitoConcorrente(ex)) throw ex;
+            //Algum projeto mudou depois da leitura: o bloco é desfeito e cada projeto segue pela transição individual,
+            //que relê o status atual
+            return ids.stream().map(id -> transicionarIndividual(id, cancelar)).toList();
+        }
+    }
 
-        projeto.setStatus(proximoStatus);
-        repository.save(projeto);
+    private ResultadoTransicaoDto transicionarIndividual(long id, boolean cancelar) {
+        try {
+            return executarComRetentativa(() -> cancelar ? cancelar(id) : avancar(id));
+        } catch (RecursoNaoEncontradoException | RegraNegocioException | ValidacaoException ex) {
+            return new ResultadoTransicaoDto(id, null, null, ex.getMessage());
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException ex) {
+            if (!conflitoConcorrente(ex)) throw ex;
+            return new ResultadoTransicaoDto(id, null, null, "Projeto com ID " + id + " foi alterado por outra requisição");
+        }
     }
 
-    public void cancelarProjeto(long id){
-        ProjetoEntity projeto = repository.findById(id)
+    private ProjetoTransicaoDto buscarParaTransicao(long id) {
+        return repository.buscarParaTransicao(id)
                 .orElseThrow(() ->
                         new RecursoNaoEncontradoException("Projeto com ID " + id + " não encontrado")
                 );
+    }
 
-        if(projeto.getStatus() == Status.ENCERRADO || projeto.getStatus() ==  Status.CANCELADO){
-            throw new ValidacaoException("Projeto já está com status de " + projeto.getStatus());
+    //UPDATE condicional ao status lido: se outra requisição mudou o projeto no meio, nada é gravado e a transição é
+    //repetida a partir do status atual
+    private void transicionarStatus(long id, ProjetoTransicaoDto projeto, Status proximoStatus, LocalDate dataTermino) {
+        if (repository.transicionarStatus(id, projeto.status(), proximoStatus, dataTermino) == 0) {
+            throw new OptimisticLockingFailureException("Projeto com ID " + id + " foi alterado por outra requisição");
         }
 
-        projeto.setStatus(Status.CANCELADO);
-        repository.save(projeto);
+        relatorioService.registrarTransicao(projeto.status(), proximoStatus, projeto.orcamento(), projeto.dataInicio(), dataTermino);
+        if (!ativo(proximoStatus)) alocacaoService.liberarProjetos(List.of(id));
+        versaoDados.registrarAlteracao();
     }
 
-    public void deletarProjeto(long id){
-        ProjetoEntity projeto = repository.findById(id)
-                .orElseThrow(() ->
-                        new RegraNegocioException("Projeto com ID " + id + " não encontrado")
-                );
+    public void deletarProjeto(long id) {
+        executarComRetentativa(() -> {
+            ProjetoEntity projeto = repository.findById(id)
+                    .orElseThrow(() ->
+                            new RegraNegocioException("Projeto com ID " + id + " não encontrado")
+                    );
+
+            if(projeto.getStatus() == Status.INICIADO || projeto.getStatus() == Status.EM_ANDAMENTO || projeto.getStatus() == Status.ENCERRADO){
+                throw new RegraNegocioException("Não é possível remover um projeto com status " + projeto.getStatus());
+            }
+
+            relatorioService.removerProjeto(projeto);
+            if (ativo(projeto.getStatus())) alocacaoService.liberar(projeto.getMembrosIds());
+            repository.delete(projeto);
+            versaoDados.registrarAlteracao();
+        });
+    }
+
+    private boolean ativo(Status status) {
+        return status != Status.ENCERRADO && status != Status.CANCELADO;
+    }
 
-        if(projeto.getStatus() == Status.INICIADO || projeto.getStatus() == Status.EM_ANDAMENTO || projeto.getStatus() == Status.ENCERRADO){
-            throw new RegraNegocioException("Não é possível remover um projeto com status " + projeto.getStatus());
+    private void executarComRetentativa(Runnable operacao) {
+        executarComRetentativa(() -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    //Alterações simultâneas no mesmo projeto (@Version) falham no commit, e a primeira gravação simultânea do mesmo
+    //membro ou status nas tabelas de alocação e relatório viola a chave primária. A operação inteira, validações
+    //incluídas, é repetida em uma nova transação até o limite de tentativas. Outras violações de integridade (NOT NULL,
+    //chave estrangeira, check) dariam o mesmo erro de novo e sobem na primeira tentativa
+    private <T> T executarComRetentativa(Supplier<T> operacao) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> operacao.get());
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException ex) {
+                //Dentro de uma transação externa não há como repetir: ela já está marcada para rollback
+                if (!conflitoConcorrente(ex) || tentativa >= tentativas || TransactionSynchronizationManager.isActualTransactionActive()) throw ex;
+                aguardarNovaTentativa(tentativa);
+            }
         }
+    }
 
-        repository.delete(projeto);
+    //Lock otimista ou chave única/primária violada (SQLState 23505, igual no PostgreSQL e no H2)
+    private boolean conflitoConcorrente(DataAccessException ex) {
+        if (ex instanceof ConcurrencyFailureException) return true;
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sqlException && SQLSTATE_CHAVE_DUPLICADA.equals(sqlException.getSQLState())) return true;
+        }
+        return false;
+    }
+
+    private void aguardarNovaTentativa(int tentativa) {
+        try {
+            //Espera aleatória e crescente para as requisições em conflito não colidirem de novo
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * tentativa);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operação interrompida", ex);
+        }
     }
 }
@@ -0,0 +1,164 @@
+package com.example.cadastroProjetos.service;
+
+import com.example.cadastroProjetos.model.dto.DuracaoProjetosDto;
+import com.example.cadastroProjetos.model.dto.ProjetoTransicaoDto;
+import com.example.cadastroProjetos.model.dto.RelatorioDto;
+import com.example.cadastroProjetos.model.dto.RelatorioStatusDto;
+import com.example.cadastroProjetos.model.dto.StatusResumoDto;
+import com.example.cadastroProjetos.model.entity.ProjetoEntity;
+import com.example.cadastroProjetos.model.entity.RelatorioMembroEntity;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.repository.ProjetoRepository;
+import com.example.cadastroProjetos.repository.RelatorioMembroRepository;
+import com.example.cadastroProjetos.repository.RelatorioStatusRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+//Mantém os totais do relatório atualizados junto com cada alteração de projeto, na mesma transação
+@Service
+public class RelatorioService {
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private RelatorioStatusRepository statusRepository;
+
+    @Autowired
+    private RelatorioMembroRepository membroRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void registrarProjeto(ProjetoEntity projeto){
+        ajustarStatus(projeto.getStatus(), 1, valor(projeto.getOrcamento()),
+                duracaoMeses(projeto.getStatus(), projeto.getDataInicio(), projeto.getDataTermino()));
+        registrarMembros(projeto.getMembrosIds());
+    }
+
+    //Versão em lote: um ajuste por status e por quantidade de referências, e os membros novos gravados com insert agrupado
+    public void registrarProjetos(List<ProjetoEntity> projetos){
+        Map<Status, Long> quantidades = new EnumMap<>(Status.class);
+        Map<Status, BigDecimal> orcamentos = new EnumMap<>(Status.class);
+        Map<Status, Long> meses = new EnumMap<>(Status.class);
+        Map<Long, Long> referencias = new HashMap<>();
+
+        for (ProjetoEntity projeto : projetos) {
+            quantidades.merge(projeto.getStatus(), 1L, Long::sum);
+            orcamentos.merge(projeto.getStatus(), valor(projeto.getOrcamento()), BigDecimal::add);
+            meses.merge(projeto.getStatus(), duracaoMeses(projeto.getStatus(), projeto.getDataInicio(), projeto.getDataTermino()), Long::sum);
+            projeto.getMembrosIds().forEach(membroId -> referencias.merge(membroId, 1L, Long::sum));
+        }
+        quantidades.forEach((status, quantidade) -> ajustarStatus(status, quantidade, orcamentos.get(status), meses.get(status)));
+
+        if (referencias.isEmpty()) return;
+
+        Map<Long, List<Long>> existentesPorReferencias = new HashMap<>();
+        for (Long membroId : membroRepository.buscarExistentes(referencias.keySet())) {
+            existentesPorReferencias.computeIfAbsent(referencias.remove(membroId), chave -> new ArrayList<>()).add(membroId);
+        }
+        existentesPorReferencias.forEach((quantidade, membrosIds) -> membroRepository.ajustar(membrosIds, quantidade));
+        referencias.forEach((membroId, quantidade) -> entityManager.persist(new RelatorioMembroEntity(membroId, quantidade)));
+    }
+
+    public void removerProjeto(ProjetoEntity projeto){
+        ajustarStatus(projeto.getStatus(), -1, valor(projeto.getOrcamento()).negate(),
+                -duracaoMeses(projeto.getStatus(), projeto.getDataInicio(), projeto.getDataTermino()));
+        removerMembros(projeto.getMembrosIds());
+    }
+
+    //Projetos encerrados não mudam mais de status, então só o próximo status pode somar duração
+    public void registrarTransicao(Status anterior, Status proximo, BigDecimal orcamento, LocalDate dataInicio, LocalDate dataTermino){
+        ajustarStatus(anterior, -1, valor(orcamento).negate(), 0);
+        ajustarStatus(proximo, 1, valor(orcamento), duracaoMeses(proximo, dataInicio, dataTermino));
+    }
+
+    //Versão em lote para projetos que saíram do mesmo status: um ajuste por status em vez de um por projeto
+    public void registrarTransicoes(Status anterior, Status proximo, Collection<ProjetoTransicaoDto> projetos, LocalDate dataTermino){
+        BigDecimal orcamento = BigDecimal.ZERO;
+        long meses = 0;
+        for (ProjetoTransicaoDto projeto : projetos) {
+            orcamento = orcamento.add(valor(projeto.orcamento()));
+            meses += duracaoMeses(proximo, projeto.dataInicio(), dataTermino != null ? dataTermino : projeto.dataTermino());
+        }
+        ajustarStatus(anterior, -projetos.size(), orcamento.negate(), 0);
+        ajustarStatus(proximo, projetos.size(), orcamento, meses);
+    }
+
+    public void registrarMembros(Collection<Long> membrosIds){
+        if (membrosIds.isEmpty()) return;
+
+        List<Long> existentes = membroRepository.buscarExistentes(membrosIds);
+        if (!existentes.isEmpty()) membroRepository.ajustar(existentes, 1);
+
+        Set<Long> novos = new HashSet<>(membrosIds);
+        existentes.forEach(novos::remove);
+        novos.forEach(membroId -> membroRepository.inserir(membroId, 1));
+    }
+
+    public void removerMembros(Collection<Long> membrosIds){
+        if (membrosIds.isEmpty()) return;
+
+        membroRepository.ajustar(membrosIds, -1);
+        membroRepository.removerSemReferencias();
+    }
+
+    public RelatorioDto gerar(){
+        Map<Status, Long> quantidadePorStatus = new HashMap<>();
+        Map<Status, BigDecimal> totalOrcadoPorStatus = new HashMap<>();
+        long mediaDuracao = 0L;
+
+        for (RelatorioStatusDto total : statusRepository.buscarTotais()) {
+            quantidadePorStatus.put(total.status(), total.quantidade());
+            totalOrcadoPorStatus.put(total.status(), total.totalOrcado());
+
+            if (total.status() == Status.ENCERRADO) {
+                mediaDuracao = total.totalMesesDuracao() / total.quantidade();
+            }
+        }
+
+        return new RelatorioDto(quantidadePorStatus, totalOrcadoPorStatus, mediaDuracao, membroRepository.count());
+    }
+
+    //Recalcula tudo a partir da tabela de projetos, para corrigir qualquer diferença acumulada
+    @Transactional
+    public RelatorioDto reconstruir(){
+        statusRepository.deleteAllInBatch();
+        membroRepository.deleteAllInBatch();
+
+        for (StatusResumoDto resumo : projetoRepository.resumirPorStatus()) {
+            long meses = 0;
+            if (resumo.status() == Status.ENCERRADO) {
+                DuracaoProjetosDto duracao = projetoRepository.somarDuracaoMeses(Status.ENCERRADO);
+                meses = duracao.totalMeses();
+            }
+            statusRepository.inserir(resumo.status(), resumo.quantidadeProjetos(), resumo.totalOrcado(), meses);
+        }
+        projetoRepository.reconstruirRelatorioMembros();
+
+        return gerar();
+    }
+
+    private void ajustarStatus(Status status, long quantidade, BigDecimal orcamento, long meses){
+        if (statusRepository.ajustar(status, quantidade, orcamento, meses) == 0) {
+            statusRepository.inserir(status, quantidade, orcamento, meses);
+        }
+    }
+
+    private long duracaoMeses(Status status, LocalDate dataInicio, LocalDate dataTermino){
+        if (status != Status.ENCERRADO || dataInicio == null || dataTermino == null) return 0;
+        return ChronoUnit.MONTHS.between(dataInicio, dataTermino);
+    }
+
+    private BigDecimal valor(BigDecimal orcamento){
+        return orcamento == null ? BigDecimal.ZERO : orcamento;
+    }
+}
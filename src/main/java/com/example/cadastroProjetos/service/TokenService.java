@@ -1,29 +1,94 @@
 package com.example.cadastroProjetos.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.cadastroProjetos.model.dto.TokenValidadoDto;
 import com.example.cadastroProjetos.model.entity.UserEntity;
+import com.example.cadastroProjetos.model.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenService {
 
+    private static final String EMISSOR = "Criar e Editar Projetos";
+
+    private static final String CLAIM_PAPEL = "role";
+
     @Value("${api.security.token.secret}")
     private String secret_key;
 
+    @Value("${api.security.token.cache.tamanho-maximo:10000}")
+    private long tamanhoMaximoCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verificador;
+
+    //Tokens já verificados, pelo hash do token; cada um sai do cache quando o próprio token expira
+    private Cache<String, DecodedJWT> tokensValidados;
+
+    @PostConstruct
+    public void iniciar(){
+        algorithm = Algorithm.HMAC256(secret_key);
+        verificador = JWT.require(algorithm)
+                .withIssuer(EMISSOR)
+                .build();
+
+        tokensValidados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new Expiry<String, DecodedJWT>() {
+                    @Override
+                    public long expireAfterCreate(String hash, DecodedJWT token, long tempoAtual) {
+                        long restante = token.getExpiresAtAsInstant().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(restante, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, DecodedJWT token, long tempoAtual, long duracaoAtual) {
+                        return expireAfterCreate(hash, token, tempoAtual);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, DecodedJWT token, long tempoAtual, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensValidados, "tokens");
+    }
+
     public String gerarToken(UserEntity user){
         try{
-            Algorithm algorithm = Algorithm.HMAC256(secret_key);
             return JWT.create()
-                    .withIssuer("Criar e Editar Projetos")
+                    .withIssuer(EMISSOR)
                     .withSubject(user.getUsername())
+                    .withClaim(CLAIM_PAPEL, user.getRole() != null ? user.getRole().name() : null)
                     .withExpiresAt(gerarDataExpiracao())
                     .sign(algorithm);
         }catch(JWTCreationException exception){
@@ -32,18 +97,53 @@ public class TokenService {
     }
 
     public String validarToken(String token){
+        TokenValidadoDto validado = validar(token);
+        return validado != null ? validado.login() : null;
+    }
+
+    public TokenValidadoDto validar(String token){
+        long inicio = System.nanoTime();
+        String resultado = "cache";
+
         try{
-            Algorithm algorithm = Algorithm.HMAC256(secret_key);
-            return JWT.require(algorithm)
-                    .withIssuer("Criar e Editar Projetos")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            String hash = gerarHash(token);
+            DecodedJWT decodificado = tokensValidados.getIfPresent(hash);
+
+            if (decodificado == null) {
+                resultado = "verificado";
+                decodificado = verificador.verify(token);
+                //Tokens sem data de expiração não são guardados, para não ficarem válidos no cache para sempre
+                if (decodificado.getExpiresAtAsInstant() != null) tokensValidados.put(hash, decodificado);
+            }
+            return new TokenValidadoDto(decodificado.getSubject(), recuperarPapel(decodificado));
         }catch(JWTVerificationException exception){
+            resultado = "invalido";
+            return null;
+        }finally {
+            meterRegistry.timer("seguranca.token.validacao", "resultado", resultado)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private UserRole recuperarPapel(DecodedJWT token){
+        String papel = token.getClaim(CLAIM_PAPEL).asString();
+        if (papel == null) return null;
+        try {
+            return UserRole.valueOf(papel);
+        } catch (IllegalArgumentException e) {
             return null;
         }
     }
 
+    private String gerarHash(String token){
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
     private Instant gerarDataExpiracao(){
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
@@ -0,0 +1,77 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.temporal.ChronoUnit;
+
+//Tabelas com os totais do relatório, já preenchidas a partir dos projetos existentes como no
+//RelatorioService.reconstruir. O projeto guarda a descrição do status e o relatório guarda o nome do enum.
+//Em Java para a duração em meses ser contada igual à aplicação (ChronoUnit)
+public class V2__tabelas_relatorio extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("""
+                    CREATE TABLE relatorio_status (
+                        status VARCHAR(255) PRIMARY KEY,
+                        quantidade BIGINT NOT NULL,
+                        total_orcado NUMERIC(38,2),
+                        total_meses_duracao BIGINT NOT NULL
+                    )""");
+
+            statement.execute("""
+                    CREATE TABLE relatorio_membro (
+                        membro_id BIGINT PRIMARY KEY,
+                        referencias BIGINT NOT NULL
+                    )""");
+
+            statement.execute("""
+                    INSERT INTO relatorio_status (status, quantidade, total_orcado, total_meses_duracao)
+                    SELECT CASE status
+                               WHEN 'Em análise' THEN 'EM_ANALISE'
+                               WHEN 'Análise Realizada' THEN 'ANALISE_REALIZADA'
+                               WHEN 'Análise Aprovada' THEN 'ANALISE_APROVADA'
+                               WHEN 'Iniciado' THEN 'INICIADO'
+                               WHEN 'Planejado' THEN 'PLANEJADO'
+                               WHEN 'Em andamento' THEN 'EM_ANDAMENTO'
+                               WHEN 'Encerrado' THEN 'ENCERRADO'
+                               WHEN 'Cancelado' THEN 'CANCELADO'
+                           END,
+                           COUNT(*), COALESCE(SUM(orcamento), 0), 0
+                    FROM projeto
+                    WHERE status IS NOT NULL
+                    GROUP BY status""");
+
+            statement.execute("""
+                    INSERT INTO relatorio_membro (membro_id, referencias)
+                    SELECT membro_id, COUNT(*)
+                    FROM projeto_membros
+                    WHERE membro_id IS NOT NULL
+                    GROUP BY membro_id""");
+
+            //Só projetos encerrados somam duração
+            long meses = 0;
+            try (ResultSet resultado = statement.executeQuery("""
+                    SELECT data_inicio, data_termino FROM projeto
+                    WHERE status = 'Encerrado' AND data_inicio IS NOT NULL AND data_termino IS NOT NULL""")) {
+                while (resultado.next()) {
+                    Date inicio = resultado.getDate(1);
+                    Date termino = resultado.getDate(2);
+                    meses += ChronoUnit.MONTHS.between(inicio.toLocalDate(), termino.toLocalDate());
+                }
+            }
+
+            try (PreparedStatement atualizacao = context.getConnection().prepareStatement(
+                    "UPDATE relatorio_status SET total_meses_duracao = ? WHERE status = 'ENCERRADO'")) {
+                atualizacao.setLong(1, meses);
+                atualizacao.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+//Sequência usada pelo Hibernate para gerar os IDs de projeto em blocos de 50 (permite inserts em lote).
+//Em Java para começar depois do maior ID existente com o mesmo SQL no PostgreSQL e no H2
+public class V4__sequencia_projeto extends BaseJavaMigration {
+
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maiorId = 0;
+            try (ResultSet resultado = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM projeto")) {
+                if (resultado.next()) maiorId = resultado.getLong(1);
+            }
+
+            //O otimizador do Hibernate usa o valor da sequência como o fim do bloco; o primeiro ID gerado é maiorId + 1
+            statement.execute("CREATE SEQUENCE projeto_seq START WITH " + (maiorId + INCREMENTO) + " INCREMENT BY " + INCREMENTO);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+//O ID do projeto passa a vir somente da projeto_seq, inclusive em inserts feitos direto no banco, para não
+//colidir com os blocos reservados pelo Hibernate. A identidade do V1 é removida; bancos do dbProjects.sql antigo
+//(BIGSERIAL) não têm identidade e só trocam o default
+public class V5__projeto_id_por_sequencia extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            boolean identidade = false;
+            try (ResultSet resultado = statement.executeQuery("""
+                    SELECT is_identity FROM information_schema.columns
+                    WHERE LOWER(table_name) = 'projeto' AND LOWER(column_name) = 'id'""")) {
+                if (resultado.next()) identidade = "YES".equalsIgnoreCase(resultado.getString(1));
+            }
+
+            if (identidade) statement.execute("ALTER TABLE projeto ALTER COLUMN id DROP IDENTITY");
+            //Cada nextval reserva um bloco inteiro de 50, então o ID usado pelo banco nunca está num bloco do Hibernate
+            statement.execute("ALTER TABLE projeto ALTER COLUMN id SET DEFAULT nextval('projeto_seq')");
+        }
+    }
+}
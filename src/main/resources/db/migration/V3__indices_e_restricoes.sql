@@ -0,0 +1,13 @@
+-- Contagem de projetos ativos por membro (validação da equipe)
+CREATE INDEX idx_projeto_membros_membro_id ON projeto_membros (membro_id);
+
+-- Filtros da listagem, resumo por status e projetos por gerente
+CREATE INDEX idx_projeto_status ON projeto (status);
+CREATE INDEX idx_projeto_gerente_id ON projeto (gerente_id);
+
+-- findByLogin; a restrição única já cria o índice
+ALTER TABLE users ADD CONSTRAINT uk_users_login UNIQUE (login);
+
+-- Um membro aparece uma única vez em cada projeto; a chave também atende a busca dos membros por projeto
+ALTER TABLE projeto_membros ALTER COLUMN membro_id SET NOT NULL;
+ALTER TABLE projeto_membros ADD CONSTRAINT pk_projeto_membros PRIMARY KEY (projeto_id, membro_id);
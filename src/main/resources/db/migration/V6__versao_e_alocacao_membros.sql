@@ -0,0 +1,16 @@
+-- Versão para o lock otimista do projeto
+ALTER TABLE projeto ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+
+-- Quantidade de projetos ativos de cada membro; o limite de 3 é garantido pelo UPDATE condicional da aplicação
+CREATE TABLE membro_alocacao (
+    membro_id BIGINT PRIMARY KEY,
+    projetos_ativos INTEGER NOT NULL,
+    CONSTRAINT ck_membro_alocacao_projetos_ativos CHECK (projetos_ativos >= 0)
+);
+
+INSERT INTO membro_alocacao (membro_id, projetos_ativos)
+SELECT pm.membro_id, COUNT(*)
+FROM projeto_membros pm
+JOIN projeto p ON p.id = pm.projeto_id
+WHERE p.status NOT IN ('Encerrado', 'Cancelado')
+GROUP BY pm.membro_id;
@@ -0,0 +1,216 @@
+package com.example.cadastroProjetos.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Teste de carga da API: sobe a aplicação em uma porta fixa com H2 no modo PostgreSQL, cria membros pelo MembroMockController,
+//cria os projetos iniciais e dispara leituras e escritas misturadas a partir de vários clientes ao mesmo tempo.
+//Roda só com o profile "carga": ./mvnw -P carga test (parâmetros em carga.*)
+@Tag("carga")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
+        properties = {
+                "server.port=${carga.porta:18080}",
+                "membro.api.url=http://localhost:${carga.porta:18080}",
+                "spring.datasource.url=jdbc:h2:mem:carga;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "api.security.token.secret=carga"
+        }
+)
+class CargaApiTest {
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    //O MembroMockController cria os membros 1 a 12 uma única vez, no construtor; o 1 é o gerente
+    //usado em todos os projetos e os membros criados pelo teste recebem IDs a partir do 13
+    private static final long GERENTE_ID = 1L;
+    private static final long PRIMEIRO_MEMBRO_LIVRE = 13L;
+
+    @Value("${carga.porta:18080}")
+    private int porta;
+
+    @Value("${carga.projetos:200}")
+    private int projetosIniciais;
+
+    @Value("${carga.clientes:16}")
+    private int clientes;
+
+    @Value("${carga.requisicoes-por-cliente:200}")
+    private int requisicoesPorCliente;
+
+    @Value("${carga.percentual-escrita:20}")
+    private int percentualEscrita;
+
+    @Value("${carga.percentual-relatorio:20}")
+    private int percentualRelatorio;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+    //Cada projeto criado usa um membro que ainda não está em nenhum projeto, para nunca bater no limite de 3 projetos por membro
+    private final AtomicLong proximoMembro = new AtomicLong(PRIMEIRO_MEMBRO_LIVRE);
+
+    private final Map<String, Queue<Long>> latencias = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> falhas = new ConcurrentHashMap<>();
+
+    private String token;
+
+    @Test
+    @DisplayName("Carga mista de criação, listagem e relatório")
+    void cargaMista() throws Exception {
+        token = autenticar();
+        criarMembros(projetosIniciais + clientes * requisicoesPorCliente);
+
+        for (int i = 0; i < projetosIniciais; i++) {
+            assertEquals(201, criarProjeto().statusCode());
+        }
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clientes)) {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (int cliente = 0; cliente < clientes; cliente++) {
+                execucoes.add(executor.submit(() -> {
+                    for (int i = 0; i < requisicoesPorCliente; i++) executarRequisicao();
+                    return null;
+                }));
+            }
+            for (Future<?> execucao : execucoes) execucao.get();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        Map<String, Map<String, Object>> resultado = resumir(segundos);
+        imprimir(resultado, segundos);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File("target/carga-resultado.json"), resultado);
+
+        falhas.forEach((endpoint, quantidade) -> assertEquals(0, quantidade.get(), "Falhas em " + endpoint));
+    }
+
+    private void executarRequisicao() throws IOException, InterruptedException {
+        int sorteio = ThreadLocalRandom.current().nextInt(100);
+
+        if (sorteio < percentualEscrita) {
+            medir("POST /projeto/criar", 201, this::criarProjeto);
+        } else if (sorteio < percentualEscrita + percentualRelatorio) {
+            medir("GET /projeto/gerarRelatorio", 200, () -> enviar(get("/projeto/gerarRelatorio")));
+        } else {
+            int pagina = ThreadLocalRandom.current().nextInt(Math.max(projetosIniciais / 20, 1));
+            medir("GET /projeto/mostrarProjetos", 200, () -> enviar(get("/projeto/mostrarProjetos?page=" + pagina + "&size=20")));
+        }
+    }
+
+    private interface Requisicao {
+        HttpResponse<String> executar() throws IOException, InterruptedException;
+    }
+
+    private void medir(String endpoint, int statusEsperado, Requisicao requisicao) throws IOException, InterruptedException {
+        long inicio = System.nanoTime();
+        HttpResponse<String> resposta = requisicao.executar();
+        long duracao = System.nanoTime() - inicio;
+
+        latencias.computeIfAbsent(endpoint, chave -> new ConcurrentLinkedQueue<>()).add(duracao);
+        AtomicLong contadorFalhas = falhas.computeIfAbsent(endpoint, chave -> new AtomicLong());
+        if (resposta.statusCode() != statusEsperado) contadorFalhas.incrementAndGet();
+    }
+
+    private Map<String, Map<String, Object>> resumir(double segundos) {
+        Map<String, Map<String, Object>> resultado = new TreeMap<>();
+        latencias.forEach((endpoint, valores) -> {
+            long[] ordenados = valores.stream().mapToLong(Long::longValue).sorted().toArray();
+
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("requisicoes", ordenados.length);
+            linha.put("falhas", falhas.get(endpoint).get());
+            linha.put("requisicoesPorSegundo", Math.round(ordenados.length / segundos * 10) / 10.0);
+            linha.put("p50Ms", percentil(ordenados, 50));
+            linha.put("p95Ms", percentil(ordenados, 95));
+            linha.put("p99Ms", percentil(ordenados, 99));
+            resultado.put(endpoint, linha);
+        });
+        return resultado;
+    }
+
+    private double percentil(long[] ordenados, int percentil) {
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenados.length) - 1;
+        return Math.round(ordenados[Math.max(indice, 0)] / 10_000.0) / 100.0;
+    }
+
+    private void imprimir(Map<String, Map<String, Object>> resultado, double segundos) {
+        System.out.printf("%nCarga: %d clientes x %d requisições em %.1f s (%d projetos iniciais)%n",
+                clientes, requisicoesPorCliente, segundos, projetosIniciais);
+        System.out.printf("%-30s %8s %7s %9s %9s %9s %9s%n", "Endpoint", "Req", "Falhas", "Req/s", "p50 ms", "p95 ms", "p99 ms");
+        resultado.forEach((endpoint, linha) -> System.out.printf("%-30s %8s %7s %9s %9s %9s %9s%n",
+                endpoint, linha.get("requisicoes"), linha.get("falhas"), linha.get("requisicoesPorSegundo"),
+                linha.get("p50Ms"), linha.get("p95Ms"), linha.get("p99Ms")));
+    }
+
+    private String autenticar() throws IOException, InterruptedException {
+        Map<String, String> usuario = Map.of("login", "carga", "senha", "carga", "role", "ADMINISTRADOR");
+        assertEquals(200, enviar(post("/auth/register", usuario)).statusCode());
+
+        HttpResponse<String> login = enviar(post("/auth/login", Map.of("login", "carga", "senha", "carga")));
+        assertEquals(200, login.statusCode());
+        return objectMapper.readTree(login.body()).get("token").asText();
+    }
+
+    //O MembroMockController já começa com os membros 1 a 12 e numera os novos na ordem em que são criados
+    private void criarMembros(int quantidade) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = enviar(requisicao("/membro/gerar?quantidade=" + quantidade)
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+        assertEquals(200, resposta.statusCode());
+        assertEquals(PRIMEIRO_MEMBRO_LIVRE, objectMapper.readTree(resposta.body()).get("primeiroId").asLong());
+    }
+
+    private HttpResponse<String> criarProjeto() throws IOException, InterruptedException {
+        LocalDate inicio = LocalDate.now();
+        Map<String, Object> projeto = new HashMap<>();
+        projeto.put("nome", "Projeto carga");
+        projeto.put("descricao", "Criado pelo teste de carga");
+        projeto.put("dataInicio", inicio.format(DATA));
+        projeto.put("previsaoTermino", inicio.plusDays(ThreadLocalRandom.current().nextInt(30, 365)).format(DATA));
+        projeto.put("orcamento", ThreadLocalRandom.current().nextInt(10_000, 900_000));
+        projeto.put("gerenteId", GERENTE_ID);
+        projeto.put("membrosIds", List.of(proximoMembro.getAndIncrement()));
+        return enviar(post("/projeto/criar", projeto));
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho));
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private HttpRequest get(String caminho) {
+        return requisicao(caminho).GET().build();
+    }
+
+    private HttpRequest post(String caminho, Object corpo) throws IOException {
+        return requisicao(caminho)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)))
+                .build();
+    }
+
+    private HttpResponse<String> enviar(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cadastroProjetos.controller;
+
+import com.example.cadastroProjetos.model.dto.MembroDto;
+import com.example.cadastroProjetos.model.dto.MembroPaginaDto;
+import com.example.cadastroProjetos.model.dto.MembrosCriadosDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MembroMockControllerTest {
+
+    private final MembroMockController controller = new MembroMockController();
+
+    @Test
+    @DisplayName("Os membros fixos devem existir desde o início e não ser regravados a cada criação")
+    void membrosFixosCriadosUmaVez() {
+        assertEquals("Gerente", controller.consultarMembro(1L).cargo());
+
+        controller.criarMembro(new MembroDto("Novo", "Funcionário"));
+
+        assertEquals("Novo", controller.consultarMembro(13L).nome());
+        assertEquals("Kauã", controller.consultarMembro(1L).nome());
+        assertNull(controller.consultarMembro(14L));
+    }
+
+    @Test
+    @DisplayName("Criações concorrentes devem receber IDs únicos sem perder membros")
+    void criacaoConcorrente() throws Exception {
+        int clientes = 16;
+        int porCliente = 500;
+        try (ExecutorService executor = Executors.newFixedThreadPool(clientes)) {
+            List<Future<?>> criacoes = new ArrayList<>();
+            for (int cliente = 0; cliente < clientes; cliente++) {
+                int numero = cliente;
+                criacoes.add(executor.submit(() -> {
+                    for (int i = 0; i < porCliente; i++) controller.criarMembro(new MembroDto("Cliente" + numero, "Funcionário"));
+                }));
+            }
+            for (Future<?> criacao : criacoes) criacao.get();
+        }
+
+        MembroPaginaDto pagina = controller.consultarMembro(0, 10).getBody();
+        assertEquals(12L + clientes * porCliente, pagina.totalMembros());
+        for (long id = 13; id <= 12 + clientes * porCliente; id++) assertNotNull(controller.consultarMembro(id));
+    }
+
+    @Test
+    @DisplayName("A criação e a geração em lote devem reservar IDs consecutivos")
+    void criacaoEmLote() {
+        MembrosCriadosDto criados = controller.criarMembros(List.of(new MembroDto("A", "Funcionário"), new MembroDto("B", "Gerente"))).getBody();
+        MembrosCriadosDto gerados = controller.gerarMembros(100_000, "Funcionário").getBody();
+
+        assertEquals(new MembrosCriadosDto(13L, 14L), criados);
+        assertEquals(new MembrosCriadosDto(15L, 100_014L), gerados);
+        assertEquals("Membro100014", controller.consultarMembro(100_014L).nome());
+
+        Map<Long, MembroDto> encontrados = controller.consultarMembros(List.of(14L, 70_000L, 200_000L)).getBody();
+        assertEquals(2, encontrados.size());
+        assertEquals("B", encontrados.get(14L).nome());
+    }
+
+    @Test
+    @DisplayName("A listagem deve ser paginada e ordenada por ID")
+    void listagemPaginada() {
+        controller.gerarMembros(238, "Funcionário");
+
+        MembroPaginaDto pagina = controller.consultarMembro(2, 100).getBody();
+
+        assertEquals(250L, pagina.totalMembros());
+        assertEquals(3, pagina.totalPaginas());
+        assertEquals(50, pagina.membros().size());
+        assertEquals(201L, pagina.membros().keySet().iterator().next());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.cadastroProjetos.controller;
+
+import com.example.cadastroProjetos.infra.ExceptionHandler;
+import com.example.cadastroProjetos.infra.VersaoDados;
+import com.example.cadastroProjetos.model.dto.ProjetoPaginaDto;
+import com.example.cadastroProjetos.model.dto.RelatorioDto;
+import com.example.cadastroProjetos.service.ProjetoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProjetoControllerTest {
+
+    private final ProjetoService service = mock(ProjetoService.class);
+    private final VersaoDados versaoDados = new VersaoDados();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        ProjetoController controller = new ProjetoController();
+        ReflectionTestUtils.setField(controller, "service", service);
+        ReflectionTestUtils.setField(controller, "versaoDados", versaoDados);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setControllerAdvice(new ExceptionHandler())
+                .build();
+        when(service.retornarDadosRelatorio()).thenReturn(new RelatorioDto(Map.of(), Map.of(), 0L, 0L));
+    }
+
+    @Test
+    @DisplayName("Com o ETag atual, o relatório deve responder 304 sem consultar o serviço")
+    void relatorioNaoModificado() throws Exception {
+        String etag = mockMvc.perform(get("/projeto/gerarRelatorio"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/projeto/gerarRelatorio").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(service, times(1)).retornarDadosRelatorio();
+    }
+
+    @Test
+    @DisplayName("Depois de uma alteração, o ETag antigo não deve mais valer")
+    void relatorioModificado() throws Exception {
+        String etag = versaoDados.etag();
+        versaoDados.registrarAlteracao();
+
+        mockMvc.perform(get("/projeto/gerarRelatorio").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", versaoDados.etag()));
+
+        verify(service).retornarDadosRelatorio();
+    }
+
+    @Test
+    @DisplayName("Uma alteração durante a consulta não deve ser coberta pelo ETag nem por data de modificação")
+    void alteracaoDuranteAConsulta() throws Exception {
+        String etag = versaoDados.etag();
+        when(service.retornarDadosRelatorio()).thenAnswer(invocacao -> {
+            versaoDados.registrarAlteracao();
+            return new RelatorioDto(Map.of(), Map.of(), 0L, 0L);
+        });
+
+        //A resposta leva a versão lida antes da consulta, então a próxima revalidação busca os dados de novo
+        mockMvc.perform(get("/projeto/gerarRelatorio"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().doesNotExist("Last-Modified"));
+
+        mockMvc.perform(get("/projeto/gerarRelatorio").header("If-Modified-Since", "Wed, 21 Oct 2099 07:28:00 GMT"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("A paginação por cursor deve recusar o parâmetro sort em vez de ignorá-lo")
+    void cursorComOrdenacao() throws Exception {
+        mockMvc.perform(get("/projeto/mostrarProjetos").param("cursor", "0").param("sort", "orcamento,desc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("A paginação por cursor é sempre ordenada por ID; não informe sort junto com cursor"));
+
+        verifyNoInteractions(service);
+
+        when(service.mostrarProjetos(any(), eq(0L), eq(20))).thenReturn(new ProjetoPaginaDto(List.of(), null, null, null));
+        mockMvc.perform(get("/projeto/mostrarProjetos").param("cursor", "0"))
+                .andExpect(status().isOk());
+        verify(service).mostrarProjetos(any(), eq(0L), eq(20));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.cadastroProjetos.infra;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.function.Resolver;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MembroApiConfigurationTest {
+
+    private final MembroApiConfiguration configuration = new MembroApiConfiguration();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        //Valores diferentes dos padrões, para o teste só passar se a configuração chegar ao client
+        ReflectionTestUtils.setField(configuration, "url", "http://membros:9090");
+        ReflectionTestUtils.setField(configuration, "maxConexoes", 40);
+        ReflectionTestUtils.setField(configuration, "maxConexoesPorRota", 15);
+        ReflectionTestUtils.setField(configuration, "timeoutConexao", 1500L);
+        ReflectionTestUtils.setField(configuration, "timeoutLeitura", 4000L);
+        ReflectionTestUtils.setField(configuration, "keepAlive", 20000L);
+    }
+
+    @Test
+    @DisplayName("O client da API de membros deve usar o pool do HttpClient5 com os limites e timeouts configurados")
+    void clientComPoolConfigurado() {
+        RestTemplate restTemplate = configuration.membroRestTemplate(new RestTemplateBuilder(), meterRegistry);
+
+        HttpComponentsClientHttpRequestFactory factory =
+                assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+        PoolingHttpClientConnectionManager connectionManager = assertInstanceOf(PoolingHttpClientConnectionManager.class,
+                ReflectionTestUtils.getField(factory.getHttpClient(), "connManager"));
+        assertEquals(40, connectionManager.getMaxTotal());
+        assertEquals(15, connectionManager.getDefaultMaxPerRoute());
+
+        @SuppressWarnings("unchecked")
+        Resolver<HttpRoute, ConnectionConfig> resolver = (Resolver<HttpRoute, ConnectionConfig>)
+                ReflectionTestUtils.getField(connectionManager, "connectionConfigResolver");
+        ConnectionConfig connectionConfig = resolver.resolve(new HttpRoute(new HttpHost("membros", 9090)));
+        assertEquals(Timeout.ofMilliseconds(1500), connectionConfig.getConnectTimeout());
+        assertEquals(Timeout.ofMilliseconds(4000), connectionConfig.getSocketTimeout());
+        assertEquals(TimeValue.ofMilliseconds(20000), connectionConfig.getTimeToLive());
+
+        Configurable httpClient = assertInstanceOf(Configurable.class, factory.getHttpClient());
+        assertEquals(Timeout.ofMilliseconds(4000), httpClient.getConfig().getResponseTimeout());
+
+        assertEquals(40, meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "membro-api").gauge().value());
+        assertEquals("http://membros:9090/membro", restTemplate.getUriTemplateHandler().expand("/membro").toString());
+    }
+
+    @Test
+    @DisplayName("Com HTTP/2 ativado, o client deve usar o HttpClient do JDK")
+    void clientHttp2() {
+        ReflectionTestUtils.setField(configuration, "http2", true);
+
+        RestTemplate restTemplate = configuration.membroRestTemplate(new RestTemplateBuilder(), meterRegistry);
+
+        assertInstanceOf(JdkClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+        assertTrue(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauges().isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.cadastroProjetos.infra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersaoDadosTest {
+
+    private final VersaoDados versaoDados = new VersaoDados();
+
+    @AfterEach
+    void limpar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Sem transação, a versão deve mudar na hora")
+    void alteracaoSemTransacao() {
+        String antes = versaoDados.etag();
+
+        versaoDados.registrarAlteracao();
+
+        assertNotEquals(antes, versaoDados.etag());
+        assertTrue(versaoDados.etag().startsWith("\"") && versaoDados.etag().endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Dentro de uma transação, a versão só deve mudar depois do commit")
+    void alteracaoDepoisDoCommit() {
+        String antes = versaoDados.etag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        versaoDados.registrarAlteracao();
+        assertEquals(antes, versaoDados.etag());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(antes, versaoDados.etag());
+    }
+
+    @Test
+    @DisplayName("Uma transação desfeita não deve mudar a versão")
+    void alteracaoDesfeita() {
+        String antes = versaoDados.etag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        versaoDados.registrarAlteracao();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(antes, versaoDados.etag());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.cadastroProjetos.infra.security;
+
+import com.example.cadastroProjetos.customException.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorSenhasTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorSenhas executorSenhas = new ExecutorSenhas(1, 1, 2, meterRegistry);
+
+    @AfterEach
+    void encerrar(){
+        executorSenhas.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve executar a tarefa e registrar a duração")
+    void executarComSucesso() {
+        String resultado = executorSenhas.executar("codificar", () -> "hash").join();
+
+        assertEquals("hash", resultado);
+        assertEquals(1, meterRegistry.timer("seguranca.senha.duracao", "operacao", "codificar").count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com tempo para nova tentativa quando a fila estiver cheia")
+    void executarComFilaCheia() throws InterruptedException {
+        CountDownLatch ocupado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<Object> emExecucao = executorSenhas.executar("verificar", () -> {
+            ocupado.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        ocupado.await();
+        CompletableFuture<String> naFila = executorSenhas.executar("verificar", () -> "fila");
+
+        ServicoIndisponivelException exception = assertThrows(ServicoIndisponivelException.class, () -> {
+            executorSenhas.executar("verificar", () -> "recusada");
+        });
+        assertEquals(2, exception.getTentarNovamenteSegundos());
+        assertEquals(1, meterRegistry.get("executor.queued").tag("name", "senhas").gauge().value());
+        assertEquals(1, meterRegistry.counter("seguranca.senha.rejeitadas", "operacao", "verificar").count());
+
+        liberar.countDown();
+        emExecucao.join();
+        assertEquals("fila", naFila.join());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.cadastroProjetos.infra.security;
+
+import com.example.cadastroProjetos.model.entity.UserEntity;
+import com.example.cadastroProjetos.model.enums.UserRole;
+import com.example.cadastroProjetos.service.AutorizacaoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SecurityConfigurationTest {
+
+    private final SecurityConfiguration configuration = new SecurityConfiguration();
+
+    @Test
+    @DisplayName("Deve aceitar hashes BCrypt antigos, sem prefixo, e marcá-los para atualização")
+    void senhaAntigaSemPrefixo() {
+        PasswordEncoder encoder = configuration.passwordEncoder("bcrypt", 10);
+        String hashAntigo = new BCryptPasswordEncoder().encode("senha");
+
+        assertTrue(encoder.matches("senha", hashAntigo));
+        assertTrue(encoder.upgradeEncoding(hashAntigo));
+    }
+
+    @Test
+    @DisplayName("Deve marcar para atualização o hash com custo menor que o configurado")
+    void senhaComCustoMenor() {
+        String hashCusto4 = configuration.passwordEncoder("bcrypt", 4).encode("senha");
+        PasswordEncoder encoder = configuration.passwordEncoder("bcrypt", 6);
+
+        assertTrue(encoder.matches("senha", hashCusto4));
+        assertTrue(encoder.upgradeEncoding(hashCusto4));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("senha")));
+    }
+
+    @Test
+    @DisplayName("Deve regravar o hash no login quando o algoritmo configurado mudar")
+    void atualizarHashNoLogin() {
+        String hashBcrypt = configuration.passwordEncoder("bcrypt", 4).encode("senha");
+        PasswordEncoder encoder = configuration.passwordEncoder("pbkdf2", 4);
+        UserEntity usuario = new UserEntity("kaua", hashBcrypt, UserRole.MEMBRO);
+
+        AutorizacaoService autorizacaoService = mock(AutorizacaoService.class);
+        when(autorizacaoService.loadUserByUsername("kaua")).thenReturn(usuario);
+        when(autorizacaoService.updatePassword(any(), anyString())).thenAnswer(chamada -> chamada.getArgument(0));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(autorizacaoService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(autorizacaoService);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("kaua", "senha"));
+
+        verify(autorizacaoService).updatePassword(eq(usuario), startsWith("{pbkdf2}"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.cadastroProjetos.infra.security;
+
+import com.example.cadastroProjetos.model.dto.TokenValidadoDto;
+import com.example.cadastroProjetos.model.entity.UserEntity;
+import com.example.cadastroProjetos.model.enums.UserRole;
+import com.example.cadastroProjetos.repository.UserRepository;
+import com.example.cadastroProjetos.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SecurityFilterTest {
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private SecurityFilter securityFilter;
+
+    @BeforeEach
+    void setup(){
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(securityFilter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(securityFilter, "confiarPapelDoToken", true);
+    }
+
+    @AfterEach
+    void limpar(){
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filtrar() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    @DisplayName("Deve autenticar pelo papel do token sem consultar a tabela de usuários")
+    void autenticarPeloPapelDoToken() throws Exception {
+        when(tokenService.validar("token")).thenReturn(new TokenValidadoDto("kaua", UserRole.ADMINISTRADOR));
+
+        Authentication autenticacao = filtrar();
+
+        assertEquals("kaua", ((UserEntity) autenticacao.getPrincipal()).getUsername());
+        assertTrue(autenticacao.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch("ROLE_ADMINISTRADOR"::equals));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco quando o token não tiver o papel")
+    void autenticarTokenSemPapel() throws Exception {
+        when(tokenService.validar("token")).thenReturn(new TokenValidadoDto("kaua", null));
+        when(repository.findByLogin("kaua")).thenReturn(new UserEntity("kaua", "senha", UserRole.MEMBRO));
+
+        Authentication autenticacao = filtrar();
+
+        assertNotNull(autenticacao);
+        verify(repository).findByLogin("kaua");
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco quando a confiança no papel do token estiver desligada")
+    void autenticarSemConfiarNoPapel() throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "confiarPapelDoToken", false);
+        when(tokenService.validar("token")).thenReturn(new TokenValidadoDto("kaua", UserRole.ADMINISTRADOR));
+        when(repository.findByLogin("kaua")).thenReturn(new UserEntity("kaua", "senha", UserRole.ADMINISTRADOR));
+
+        filtrar();
+
+        verify(repository).findByLogin("kaua");
+    }
+}
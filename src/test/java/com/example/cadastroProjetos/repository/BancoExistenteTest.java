@@ -0,0 +1,34 @@
+package com.example.cadastroProjetos.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Banco criado pelo dbProjects.sql, sem histórico do Flyway: deve ser reconhecido como versão 1 e receber as migrations seguintes
+class BancoExistenteTest {
+
+    @Test
+    @DisplayName("Um banco criado pelo dbProjects.sql deve receber todas as migrations depois da versão 1")
+    void migrarBancoDoScript() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:banco_existente;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Connection conexao = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(conexao, new FileSystemResource("dbProjects.sql"));
+        }
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM membro_alocacao", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM relatorio_status", Long.class));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT nextval('projeto_seq')", Long.class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.model.entity.ProjetoEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//O esquema é criado pelas migrations do Flyway; o plano de execução do H2 mostra qual índice cada consulta usa
+@DataJpaTest
+class EsquemaBancoTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String plano(String sql) {
+        return entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult().toString().toUpperCase();
+    }
+
+    @Test
+    @DisplayName("A contagem de projetos por membro deve usar o índice de membro_id")
+    void contagemPorMembroUsaIndice() {
+        String plano = plano("""
+                SELECT m.membro_id, COUNT(*) FROM projeto p
+                JOIN projeto_membros m ON m.projeto_id = p.id
+                WHERE m.membro_id IN (1, 2, 3) AND p.status NOT IN ('Encerrado', 'Cancelado')
+                GROUP BY m.membro_id
+                """);
+
+        assertTrue(plano.contains("IDX_PROJETO_MEMBROS_MEMBRO_ID"), plano);
+    }
+
+    @Test
+    @DisplayName("O filtro por status deve usar o índice de status")
+    void filtroStatusUsaIndice() {
+        String plano = plano("SELECT id FROM projeto WHERE status = 'Em análise'");
+
+        assertTrue(plano.contains("IDX_PROJETO_STATUS"), plano);
+    }
+
+    @Test
+    @DisplayName("O filtro por gerente deve usar o índice de gerente_id")
+    void filtroGerenteUsaIndice() {
+        String plano = plano("SELECT id FROM projeto WHERE gerente_id = 1");
+
+        assertTrue(plano.contains("IDX_PROJETO_GERENTE_ID"), plano);
+    }
+
+    @Test
+    @DisplayName("A busca do usuário pelo login deve usar o índice da restrição única")
+    void buscaLoginUsaIndice() {
+        String plano = plano("SELECT id FROM users WHERE login = 'kaua'");
+
+        assertTrue(plano.contains("UK_USERS_LOGIN"), plano);
+    }
+
+    @Test
+    @DisplayName("Os membros de um projeto devem ser buscados pela chave primária de projeto_membros")
+    void membrosDoProjetoUsamChavePrimaria() {
+        String plano = plano("SELECT membro_id FROM projeto_membros WHERE projeto_id IN (1, 2)");
+
+        assertTrue(plano.contains("PK_PROJETO_MEMBROS") || plano.contains("PRIMARY_KEY"), plano);
+    }
+
+    @Test
+    @DisplayName("Não deve aceitar dois usuários com o mesmo login")
+    void loginUnico() {
+        entityManager.createNativeQuery("INSERT INTO users (login, role, senha) VALUES ('kaua', 'MEMBRO', 'x')").executeUpdate();
+
+        assertThrows(Exception.class, () ->
+                entityManager.createNativeQuery("INSERT INTO users (login, role, senha) VALUES ('kaua', 'MEMBRO', 'y')").executeUpdate());
+    }
+
+    @Test
+    @DisplayName("Projetos inseridos direto no banco devem usar a sequência sem colidir com os IDs reservados pelo Hibernate")
+    void idProjetoPelaSequencia() {
+        ProjetoEntity reservado = new ProjetoEntity();
+        reservado.setNome("Hibernate");
+        entityManager.persist(reservado);
+        entityManager.flush();
+
+        entityManager.createNativeQuery("INSERT INTO projeto (nome) VALUES ('Manual')").executeUpdate();
+        Long manual = (Long) entityManager.createNativeQuery("SELECT id FROM projeto WHERE nome = 'Manual'").getSingleResult();
+
+        //O bloco do Hibernate vai de 1 a 50; o insert manual pega o fim de outro bloco
+        assertTrue(manual - reservado.getId() >= 50, "ids: " + reservado.getId() + ", " + manual);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.infra.ExecutorConsultas;
+import com.example.cadastroProjetos.infra.HibernateConfiguration;
+import com.example.cadastroProjetos.infra.VersaoDados;
+import com.example.cadastroProjetos.model.dto.RelatorioDto;
+import com.example.cadastroProjetos.model.dto.RelatorioStatusDto;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.service.AlocacaoMembroService;
+import com.example.cadastroProjetos.service.ClassificacaoRiscoService;
+import com.example.cadastroProjetos.service.MembroApiMockada;
+import com.example.cadastroProjetos.service.ProjetoService;
+import com.example.cadastroProjetos.service.RelatorioService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Banco com projetos anteriores às tabelas do relatório: a migration deve preencher os totais a partir deles, num formato
+//que a aplicação consiga ler e continuar atualizando. O contexto sobe só até a versão 1 e o teste aplica o resto
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracao_relatorio;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.target=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjetoService.class, ClassificacaoRiscoService.class, RelatorioService.class, AlocacaoMembroService.class, ExecutorConsultas.class,
+        HibernateConfiguration.class, VersaoDados.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class MigracaoRelatorioTest {
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private RelatorioStatusRepository statusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private MembroApiMockada membroApiMockada;
+
+    @Test
+    @DisplayName("Os totais do relatório devem ser preenchidos para os projetos que já existiam no banco")
+    void preencherRelatorioDosProjetosExistentes() {
+        jdbcTemplate.update("""
+                INSERT INTO projeto (id, nome, status, orcamento, data_inicio, data_termino) VALUES
+                (1, 'A', 'Encerrado', 1000.50, DATE '2024-01-15', DATE '2024-07-20'),
+                (2, 'B', 'Encerrado', 2000, DATE '2024-01-31', DATE '2024-03-01'),
+                (3, 'C', 'Em análise', 500, DATE '2024-01-01', NULL)""");
+        jdbcTemplate.update("INSERT INTO projeto_membros (projeto_id, membro_id) VALUES (1, 10), (2, 10), (3, 11)");
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        Map<Status, RelatorioStatusDto> totais = totaisPorStatus();
+        assertEquals(2L, totais.get(Status.ENCERRADO).quantidade());
+        assertEquals(0, new BigDecimal("3000.50").compareTo(totais.get(Status.ENCERRADO).totalOrcado()));
+        //6 meses (jan/15 a jul/20) + 1 mês (jan/31 a mar/01)
+        assertEquals(7L, totais.get(Status.ENCERRADO).totalMesesDuracao());
+        assertEquals(1L, totais.get(Status.EM_ANALISE).quantidade());
+
+        RelatorioDto relatorio = projetoService.retornarDadosRelatorio();
+        assertEquals(Map.of(Status.ENCERRADO, 2L, Status.EM_ANALISE, 1L), relatorio.quantidadePorStatus());
+        assertEquals(3L, relatorio.mediaDuracaoProjetosEncerrados());
+        assertEquals(2L, relatorio.totalMembrosUnicos());
+
+        //O ajuste incremental deve cair nas linhas preenchidas pela migration, sem criar outra linha para o mesmo status
+        projetoService.avancarStatus(3L);
+
+        assertEquals(Map.of(Status.ENCERRADO, 2L, Status.ANALISE_REALIZADA, 1L), projetoService.retornarDadosRelatorio().quantidadePorStatus());
+        assertEquals(3L, statusRepository.count());
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT quantidade FROM relatorio_status WHERE status = 'EM_ANALISE'", Long.class));
+    }
+
+    private Map<Status, RelatorioStatusDto> totaisPorStatus() {
+        return statusRepository.buscarTotais().stream().collect(Collectors.toMap(RelatorioStatusDto::status, Function.identity()));
+    }
+}
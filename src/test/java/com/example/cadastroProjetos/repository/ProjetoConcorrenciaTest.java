@@ -0,0 +1,182 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.customException.RegraNegocioException;
+import com.example.cadastroProjetos.customException.ValidacaoException;
+import com.example.cadastroProjetos.infra.ExecutorConsultas;
+import com.example.cadastroProjetos.infra.HibernateConfiguration;
+import com.example.cadastroProjetos.infra.VersaoDados;
+import com.example.cadastroProjetos.model.dto.MembroDto;
+import com.example.cadastroProjetos.model.dto.ProjetoDto;
+import com.example.cadastroProjetos.model.dto.ProjetoRequestDto;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.service.AlocacaoMembroService;
+import com.example.cadastroProjetos.service.ClassificacaoRiscoService;
+import com.example.cadastroProjetos.service.MembroApiMockada;
+import com.example.cadastroProjetos.service.ProjetoService;
+import com.example.cadastroProjetos.service.RelatorioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+//Sem a transação do teste: cada requisição simulada faz commit de verdade, como em produção
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjetoService.class, ClassificacaoRiscoService.class, RelatorioService.class, AlocacaoMembroService.class, ExecutorConsultas.class,
+        HibernateConfiguration.class, VersaoDados.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class ProjetoConcorrenciaTest {
+
+    private static final long GERENTE_ID = 1L;
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private MembroApiMockada membroApiMockada;
+
+    @BeforeEach
+    void setup() {
+        Map<Long, MembroDto> equipe = new HashMap<>();
+        equipe.put(GERENTE_ID, new MembroDto("Gerente", "Gerente"));
+        for (long membroId = 100; membroId < 200; membroId++) equipe.put(membroId, new MembroDto("Membro" + membroId, "Funcionário"));
+        when(membroApiMockada.consultarIDs(anyCollection())).thenReturn(equipe);
+    }
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM projeto_membros");
+        jdbcTemplate.update("DELETE FROM projeto");
+        jdbcTemplate.update("DELETE FROM membro_alocacao");
+        jdbcTemplate.update("DELETE FROM relatorio_membro");
+        jdbcTemplate.update("DELETE FROM relatorio_status");
+    }
+
+    private Long criarProjeto(String nome, List<Long> membrosIds) {
+        projetoService.criar(new ProjetoDto(nome, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1), null,
+                new BigDecimal("1000"), null, GERENTE_ID, membrosIds));
+        return jdbcTemplate.queryForObject("SELECT id FROM projeto WHERE nome = ?", Long.class, nome);
+    }
+
+    //Dispara as tarefas ao mesmo tempo e conta quantas terminaram sem erro; só são aceitos os erros esperados
+    private int executarAoMesmoTempo(List<Callable<?>> tarefas) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(tarefas.size())) {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (Callable<?> tarefa : tarefas) {
+                execucoes.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        tarefa.call();
+                        sucessos.incrementAndGet();
+                    } catch (RegraNegocioException | ValidacaoException | ConcurrencyFailureException ex) {
+                        //Recusada pela regra de negócio ou pelo conflito depois de todas as tentativas
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> execucao : execucoes) execucao.get(60, TimeUnit.SECONDS);
+        }
+        return sucessos.get();
+    }
+
+    @Test
+    @DisplayName("Associações simultâneas no mesmo projeto não devem passar de 10 membros")
+    void associacoesSimultaneasNoMesmoProjeto() throws Exception {
+        Long projetoId = criarProjeto("Projeto", List.of(100L, 101L, 102L, 103L, 104L, 105L, 106L, 107L));
+
+        List<Callable<?>> tarefas = new ArrayList<>();
+        for (long membroId = 120; membroId < 132; membroId++) {
+            List<Long> novoMembro = List.of(membroId);
+            tarefas.add(() -> projetoService.adicionarMembros(projetoId, new ProjetoRequestDto(novoMembro)));
+        }
+        int sucessos = executarAoMesmoTempo(tarefas);
+
+        Long membros = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projeto_membros WHERE projeto_id = ?", Long.class, projetoId);
+        assertEquals(10L, membros);
+        assertEquals(2, sucessos);
+    }
+
+    @Test
+    @DisplayName("Associações simultâneas do mesmo membro em projetos diferentes não devem passar de 3 projetos ativos")
+    void associacoesSimultaneasDoMesmoMembro() throws Exception {
+        long membroDisputado = 150L;
+        criarProjeto("Existente0", List.of(membroDisputado));
+        criarProjeto("Existente1", List.of(membroDisputado));
+
+        List<Callable<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Long projetoId = criarProjeto("Disputa" + i, List.of(160L + i));
+            tarefas.add(() -> projetoService.adicionarMembros(projetoId, new ProjetoRequestDto(List.of(membroDisputado))));
+        }
+        int sucessos = executarAoMesmoTempo(tarefas);
+
+        Long projetosDoMembro = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM projeto_membros WHERE membro_id = ?", Long.class, membroDisputado);
+        assertEquals(1, sucessos);
+        assertEquals(3L, projetosDoMembro);
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT projetos_ativos FROM membro_alocacao WHERE membro_id = ?", Integer.class, membroDisputado));
+    }
+
+    @Test
+    @DisplayName("Criações simultâneas com o mesmo membro novo devem respeitar o limite de 3 projetos ativos")
+    void criacoesSimultaneasComMembroNovo() throws Exception {
+        List<Callable<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String nome = "Novo" + i;
+            tarefas.add(() -> {
+                criarProjeto(nome, List.of(170L));
+                return null;
+            });
+        }
+        int sucessos = executarAoMesmoTempo(tarefas);
+
+        assertEquals(3, sucessos);
+        assertEquals(3L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projeto_membros WHERE membro_id = 170", Long.class));
+    }
+
+    @Test
+    @DisplayName("Mudanças de status simultâneas não devem se perder nem pular etapas")
+    void mudancasDeStatusSimultaneas() throws Exception {
+        Long projetoId = criarProjeto("Status", List.of(180L));
+
+        List<Callable<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tarefas.add(() -> {
+                projetoService.avancarStatus(projetoId);
+                return null;
+            });
+        }
+        int sucessos = executarAoMesmoTempo(tarefas);
+
+        String status = jdbcTemplate.queryForObject("SELECT status FROM projeto WHERE id = ?", String.class, projetoId);
+        assertEquals(Status.values()[sucessos], Status.converterEnum(status));
+        assertEquals((long) sucessos, jdbcTemplate.queryForObject("SELECT versao FROM projeto WHERE id = ?", Long.class, projetoId));
+    }
+}
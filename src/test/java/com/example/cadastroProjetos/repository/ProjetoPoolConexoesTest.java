@@ -0,0 +1,132 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.infra.ExecutorConsultas;
+import com.example.cadastroProjetos.infra.HibernateConfiguration;
+import com.example.cadastroProjetos.infra.VersaoDados;
+import com.example.cadastroProjetos.model.dto.MembroDto;
+import com.example.cadastroProjetos.model.dto.ProjetoDto;
+import com.example.cadastroProjetos.model.dto.ProjetoRequestDto;
+import com.example.cadastroProjetos.service.AlocacaoMembroService;
+import com.example.cadastroProjetos.service.ClassificacaoRiscoService;
+import com.example.cadastroProjetos.service.MembroApiMockada;
+import com.example.cadastroProjetos.service.ProjetoService;
+import com.example.cadastroProjetos.service.RelatorioService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+//Pool Hikari de verdade com menos conexões que requisições simultâneas: cada criação ou associação deve precisar de uma
+//única conexão, senão as requisições que já estão em transação esperam umas pelas outras até o timeout do pool
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool_conexoes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=3000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjetoService.class, ClassificacaoRiscoService.class, RelatorioService.class, AlocacaoMembroService.class, ExecutorConsultas.class,
+        HibernateConfiguration.class, VersaoDados.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class ProjetoPoolConexoesTest {
+
+    private static final long GERENTE_ID = 1L;
+    private static final int REQUISICOES = 16;
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private MembroApiMockada membroApiMockada;
+
+    @BeforeEach
+    void setup() {
+        Map<Long, MembroDto> equipe = new HashMap<>();
+        equipe.put(GERENTE_ID, new MembroDto("Gerente", "Gerente"));
+        for (long membroId = 100; membroId < 200; membroId++) equipe.put(membroId, new MembroDto("Membro" + membroId, "Funcionário"));
+        when(membroApiMockada.consultarIDs(anyCollection())).thenReturn(equipe);
+    }
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM projeto_membros");
+        jdbcTemplate.update("DELETE FROM projeto");
+        jdbcTemplate.update("DELETE FROM membro_alocacao");
+        jdbcTemplate.update("DELETE FROM relatorio_membro");
+        jdbcTemplate.update("DELETE FROM relatorio_status");
+    }
+
+    private ProjetoDto projeto(String nome, List<Long> membrosIds) {
+        return new ProjetoDto(nome, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1), null,
+                new BigDecimal("1000"), null, GERENTE_ID, membrosIds);
+    }
+
+    private void executarAoMesmoTempo(List<Callable<?>> tarefas) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(tarefas.size())) {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (Callable<?> tarefa : tarefas) {
+                execucoes.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.call();
+                }));
+            }
+            largada.countDown();
+            //Qualquer falha ao obter conexão do pool sobe aqui e reprova o teste
+            for (Future<?> execucao : execucoes) execucao.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Criações e associações simultâneas acima do tamanho do pool não devem esgotar as conexões")
+    void requisicoesAcimaDoTamanhoDoPool() throws Exception {
+        assertInstanceOf(HikariDataSource.class, dataSource);
+        projetoService.criar(projeto("Base", List.of(100L)));
+        Long projetoId = jdbcTemplate.queryForObject("SELECT id FROM projeto WHERE nome = 'Base'", Long.class);
+
+        List<Callable<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < REQUISICOES; i++) {
+            long membroId = 110L + i;
+            String nome = "Projeto" + i;
+            tarefas.add(() -> {
+                projetoService.criar(projeto(nome, List.of(membroId)));
+                return null;
+            });
+        }
+        for (long membroId = 101; membroId < 105; membroId++) {
+            List<Long> novoMembro = List.of(membroId);
+            tarefas.add(() -> projetoService.adicionarMembros(projetoId, new ProjetoRequestDto(novoMembro)));
+        }
+        executarAoMesmoTempo(tarefas);
+
+        assertEquals(REQUISICOES + 1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projeto", Long.class));
+        assertEquals(5L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projeto_membros WHERE projeto_id = ?", Long.class, projetoId));
+    }
+}
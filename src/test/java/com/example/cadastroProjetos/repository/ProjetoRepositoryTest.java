@@ -0,0 +1,437 @@
+package com.example.cadastroProjetos.repository;
+
+import com.example.cadastroProjetos.infra.ExecutorConsultas;
+import com.example.cadastroProjetos.infra.HibernateConfiguration;
+import com.example.cadastroProjetos.infra.VersaoDados;
+import com.example.cadastroProjetos.model.dto.MembroDto;
+import com.example.cadastroProjetos.model.dto.ProjetoDto;
+import com.example.cadastroProjetos.model.dto.ProjetoFiltroDto;
+import com.example.cadastroProjetos.model.dto.ProjetoPaginaDto;
+import com.example.cadastroProjetos.model.dto.ProjetoResponseDto;
+import com.example.cadastroProjetos.model.dto.ReclassificacaoRiscoDto;
+import com.example.cadastroProjetos.model.dto.RelatorioDto;
+import com.example.cadastroProjetos.model.dto.ResultadoLoteDto;
+import com.example.cadastroProjetos.model.dto.ResultadoTransicaoDto;
+import com.example.cadastroProjetos.model.dto.TransicaoLoteDto;
+import com.example.cadastroProjetos.model.entity.MembroAlocacaoEntity;
+import com.example.cadastroProjetos.model.entity.ProjetoEntity;
+import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.service.AlocacaoMembroService;
+import com.example.cadastroProjetos.service.ClassificacaoRiscoService;
+import com.example.cadastroProjetos.service.ExportacaoService;
+import com.example.cadastroProjetos.service.MembroApiMockada;
+import com.example.cadastroProjetos.service.ProjetoService;
+import com.example.cadastroProjetos.service.RelatorioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProjetoService.class, ClassificacaoRiscoService.class, RelatorioService.class, AlocacaoMembroService.class, ExportacaoService.class, ExecutorConsultas.class,
+        HibernateConfiguration.class, VersaoDados.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class ProjetoRepositoryTest {
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private AlocacaoMembroService alocacaoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private MembroApiMockada membroApiMockada;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void criarProjetos(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            ProjetoEntity projeto = new ProjetoEntity();
+            projeto.setNome("Projeto" + i);
+            projeto.setDataInicio(LocalDate.of(2025, 1, 1));
+            projeto.setPrevisaoTermino(LocalDate.of(2025, 6, 1));
+            projeto.setOrcamento(new BigDecimal("1000"));
+            projeto.setGerente(1L);
+            projeto.setStatus(Status.EM_ANALISE);
+            projeto.setRisco(ClassificacaoRisco.BAIXO);
+            projeto.setMembrosIds(new ArrayList<>(List.of(100L + i, 200L + i)));
+            entityManager.persist(projeto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private ProjetoFiltroDto filtroVazio() {
+        return new ProjetoFiltroDto(null, null, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("A listagem deve carregar os membros de todos os projetos da página com uma quantidade fixa de consultas")
+    void mostrarProjetosSemNMaisUm() {
+        criarProjetos(30);
+
+        ProjetoPaginaDto pagina = projetoService.mostrarProjetos(filtroVazio(), PageRequest.of(0, 25));
+
+        assertEquals(25, pagina.projetos().size());
+        pagina.projetos().forEach(projeto -> assertEquals(2, projeto.membrosIds().size()));
+        //Página, contagem total e membros
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("A listagem por cursor deve carregar os membros com uma quantidade fixa de consultas")
+    void mostrarProjetosCursorSemNMaisUm() {
+        criarProjetos(30);
+
+        ProjetoPaginaDto pagina = projetoService.mostrarProjetos(filtroVazio(), 0L, 25);
+
+        assertEquals(25, pagina.projetos().size());
+        assertNotNull(pagina.proximoCursor());
+        List<Long> membros = pagina.projetos().stream().map(ProjetoResponseDto::membrosIds).flatMap(List::stream).toList();
+        assertEquals(50, membros.size());
+        //Página e membros
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("O relatório deve ser lido das tabelas de totais com uma quantidade fixa de consultas")
+    void relatorioSemNMaisUm() {
+        criarProjetos(30);
+        relatorioService.reconstruir();
+        statistics.clear();
+
+        RelatorioDto relatorio = projetoService.retornarDadosRelatorio();
+
+        assertEquals(60, relatorio.totalMembrosUnicos());
+        //Totais por status e membros únicos
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("O relatório calculado pelo banco deve ser igual ao calculado em memória")
+    void relatorioIgualAoCalculoEmMemoria() {
+        LocalDate[][] datas = {
+                {LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29)},
+                {LocalDate.of(2024, 1, 15), LocalDate.of(2024, 8, 15)},
+                {LocalDate.of(2023, 11, 20), LocalDate.of(2025, 3, 19)},
+                {LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 30)},
+                {LocalDate.of(2022, 12, 31), LocalDate.of(2024, 1, 1)}
+        };
+        Status[] status = {Status.ENCERRADO, Status.ENCERRADO, Status.ENCERRADO, Status.ENCERRADO, Status.CANCELADO};
+        List<ProjetoEntity> projetos = new ArrayList<>();
+
+        for (int i = 0; i < datas.length; i++) {
+            ProjetoEntity projeto = new ProjetoEntity();
+            projeto.setNome("Projeto" + i);
+            projeto.setDataInicio(datas[i][0]);
+            projeto.setPrevisaoTermino(datas[i][1]);
+            projeto.setDataTermino(datas[i][1]);
+            projeto.setOrcamento(new BigDecimal("1500.50").multiply(BigDecimal.valueOf(i + 1)));
+            projeto.setGerente(1L);
+            projeto.setStatus(status[i]);
+            projeto.setRisco(ClassificacaoRisco.MEDIO);
+            projeto.setMembrosIds(new ArrayList<>(List.of(10L + i, 11L + i)));
+            entityManager.persist(projeto);
+            projetos.add(projeto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Status, Long> quantidade = new HashMap<>();
+        Map<Status, BigDecimal> total = new HashMap<>();
+        Set<Long> membros = new HashSet<>();
+        long meses = 0;
+        long encerrados = 0;
+        for (ProjetoEntity projeto : projetos) {
+            quantidade.merge(projeto.getStatus(), 1L, Long::sum);
+            total.merge(projeto.getStatus(), projeto.getOrcamento(), BigDecimal::add);
+            membros.addAll(projeto.getMembrosIds());
+            if (projeto.getStatus() == Status.ENCERRADO) {
+                meses += ChronoUnit.MONTHS.between(projeto.getDataInicio(), projeto.getDataTermino());
+                encerrados++;
+            }
+        }
+
+        RelatorioDto relatorio = projetoService.reconstruirRelatorio();
+
+        assertEquals(quantidade, relatorio.quantidadePorStatus());
+        total.forEach((chave, valor) -> assertEquals(0, valor.compareTo(relatorio.totalOrcadoPorStatus().get(chave))));
+        assertEquals(meses / encerrados, relatorio.mediaDuracaoProjetosEncerrados());
+        assertEquals(membros.size(), relatorio.totalMembrosUnicos());
+    }
+
+    @Test
+    @DisplayName("Os totais atualizados a cada alteração devem ser iguais aos recalculados a partir dos projetos")
+    void relatorioIncrementalIgualAoReconstruido() {
+        List<ProjetoEntity> projetos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ProjetoEntity projeto = new ProjetoEntity();
+            projeto.setNome("Projeto" + i);
+            projeto.setDataInicio(LocalDate.of(2024, 1, 15));
+            projeto.setPrevisaoTermino(LocalDate.of(2024, 9, 15));
+            projeto.setDataTermino(LocalDate.of(2024, 1 + i, 20));
+            projeto.setOrcamento(new BigDecimal("1000.25").multiply(BigDecimal.valueOf(i + 1)));
+            projeto.setGerente(1L);
+            projeto.setStatus(Status.EM_ANDAMENTO);
+            projeto.setRisco(ClassificacaoRisco.MEDIO);
+            //Membros 20 e 21 se repetem entre os projetos
+            projeto.setMembrosIds(new ArrayList<>(List.of(20L + (i % 2), 30L + i)));
+            entityManager.persist(projeto);
+            relatorioService.registrarProjeto(projeto);
+            projetos.add(projeto);
+        }
+
+        projetoService.avancarStatus(projetos.get(0).getId());
+        projetoService.avancarStatus(projetos.get(1).getId());
+        projetoService.cancelarProjeto(projetos.get(2).getId());
+        projetoService.cancelarProjeto(projetos.get(3).getId());
+        projetoService.deletarProjeto(projetos.get(3).getId());
+        entityManager.flush();
+
+        RelatorioDto incremental = projetoService.retornarDadosRelatorio();
+        RelatorioDto reconstruido = projetoService.reconstruirRelatorio();
+
+        assertEquals(reconstruido.quantidadePorStatus(), incremental.quantidadePorStatus());
+        reconstruido.totalOrcadoPorStatus().forEach((chave, valor) -> assertEquals(0, valor.compareTo(incremental.totalOrcadoPorStatus().get(chave))));
+        assertEquals(reconstruido.mediaDuracaoProjetosEncerrados(), incremental.mediaDuracaoProjetosEncerrados());
+        assertEquals(reconstruido.totalMembrosUnicos(), incremental.totalMembrosUnicos());
+        assertEquals(7, incremental.totalMembrosUnicos());
+    }
+
+    @Test
+    @DisplayName("A exportação deve escrever um projeto por linha lendo o banco em uma única consulta")
+    void exportarProjetosEmNdjson() throws Exception {
+        criarProjetos(30);
+        ProjetoEntity semMembros = new ProjetoEntity();
+        semMembros.setNome("SemMembros");
+        semMembros.setOrcamento(new BigDecimal("10"));
+        semMembros.setStatus(Status.EM_ANALISE);
+        entityManager.persist(semMembros);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        long total = exportacaoService.exportarProjetos(saida);
+
+        List<String> linhas = saida.toString().lines().toList();
+        assertEquals(31, total);
+        assertEquals(31, linhas.size());
+        assertTrue(saida.toString().endsWith("}\n"));
+
+        JsonNode primeiro = objectMapper.readTree(linhas.get(0));
+        assertEquals("Projeto0", primeiro.get("nome").asText());
+        assertEquals(2, primeiro.get("membrosIds").size());
+        assertEquals(0, objectMapper.readTree(linhas.get(30)).get("membrosIds").size());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(31, meterRegistry.counter("projeto.exportacao.projetos", "resultado", "sucesso").count());
+    }
+
+    @Test
+    @DisplayName("Os projetos e seus membros devem ser gravados em inserts agrupados, com IDs reservados de 50 em 50")
+    void gravarProjetosComInsertsAgrupados() {
+        statistics.clear();
+
+        for (int i = 0; i < 60; i++) {
+            ProjetoEntity projeto = new ProjetoEntity();
+            projeto.setNome("Projeto" + i);
+            projeto.setStatus(Status.EM_ANALISE);
+            projeto.setMembrosIds(new ArrayList<>(List.of(100L + i, 200L + i)));
+            entityManager.persist(projeto);
+        }
+        entityManager.flush();
+
+        //Até 2 chamadas da sequência (depende do bloco que sobrou dos outros testes) + 1 lote de projetos + 1 lote de membros
+        assertTrue(statistics.getPrepareStatementCount() <= 4, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(60, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    @DisplayName("A mudança de status deve ser um UPDATE condicional, sem carregar o projeto nem os membros")
+    void mudarStatusSemCarregarEntidade() {
+        criarProjetos(1);
+        Long projetoId = entityManager.getEntityManager().createQuery("SELECT p.id FROM projeto p", Long.class).getSingleResult();
+        statistics.clear();
+
+        projetoService.avancarStatus(projetoId);
+        projetoService.cancelarProjeto(projetoId);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        ProjetoEntity projeto = entityManager.find(ProjetoEntity.class, projetoId);
+        assertEquals(Status.CANCELADO, projeto.getStatus());
+        assertEquals(2L, projeto.getVersao());
+    }
+
+    @Test
+    @DisplayName("A criação em lote deve validar cada item e gravar os projetos válidos com inserts agrupados")
+    void criarLoteComInsertsAgrupados() {
+        Map<Long, MembroDto> equipe = new HashMap<>();
+        equipe.put(1L, new MembroDto("Gerente", "gerente"));
+        for (long membroId = 100; membroId < 400; membroId++) equipe.put(membroId, new MembroDto("Membro" + membroId, "funcionário"));
+        when(membroApiMockada.consultarIDs(anyCollection())).thenReturn(equipe);
+
+        List<ProjetoDto> lote = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            long membroId = 100 + i * 2L;
+            lote.add(new ProjetoDto("Lote" + i, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1), null,
+                    new BigDecimal("1000"), null, 1L, List.of(membroId, membroId + 1)));
+        }
+        //Item inválido no meio do lote: membro inexistente
+        lote.set(50, new ProjetoDto("Invalido", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1), null,
+                new BigDecimal("1000"), null, 1L, List.of(999L)));
+        //Item sem nome
+        lote.set(51, new ProjetoDto(null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1), null,
+                new BigDecimal("1000"), null, 1L, List.of(300L)));
+        statistics.clear();
+
+        List<ResultadoLoteDto> resultados = projetoService.criarLote(lote);
+        entityManager.flush();
+
+        assertEquals(120, resultados.size());
+        assertEquals("Membro do código 999 não encontrado", resultados.get(50).erro());
+        assertNotNull(resultados.get(51).erro());
+        assertNull(resultados.get(50).projetoId());
+        assertEquals(118, resultados.stream().filter(resultado -> resultado.projetoId() != null).count());
+        assertEquals(118L, entityManager.getEntityManager().createQuery("SELECT COUNT(p) FROM projeto p", Long.class).getSingleResult());
+        //Um statement por lote JDBC (projetos e membros), não um por projeto
+        assertTrue(statistics.getPrepareStatementCount() < 30, "statements: " + statistics.getPrepareStatementCount());
+
+        RelatorioDto incremental = projetoService.retornarDadosRelatorio();
+        RelatorioDto reconstruido = projetoService.reconstruirRelatorio();
+        assertEquals(reconstruido.quantidadePorStatus(), incremental.quantidadePorStatus());
+        assertEquals(reconstruido.totalMembrosUnicos(), incremental.totalMembrosUnicos());
+        assertEquals(118L, incremental.quantidadePorStatus().get(Status.EM_ANALISE));
+    }
+
+    @Test
+    @DisplayName("A transição em lote deve agrupar os UPDATEs por status e devolver o resultado de cada projeto")
+    void transicionarEmLote() {
+        List<Long> ids = new ArrayList<>();
+        Status[] status = {Status.EM_ANDAMENTO, Status.EM_ANDAMENTO, Status.PLANEJADO, Status.ENCERRADO};
+        for (int i = 0; i < status.length; i++) {
+            ProjetoEntity projeto = new ProjetoEntity();
+            projeto.setNome("Projeto" + i);
+            projeto.setDataInicio(LocalDate.of(2024, 1, 15));
+            projeto.setPrevisaoTermino(LocalDate.of(2024, 9, 15));
+            projeto.setOrcamento(new BigDecimal("1000"));
+            projeto.setGerente(1L);
+            projeto.setStatus(status[i]);
+            projeto.setRisco(ClassificacaoRisco.BAIXO);
+            //Membro 50 está nos dois projetos em andamento
+            projeto.setMembrosIds(new ArrayList<>(List.of(i < 2 ? 50L : 60L + i, 70L + i)));
+            entityManager.persist(projeto);
+            relatorioService.registrarProjeto(projeto);
+            if (status[i] != Status.ENCERRADO) alocacaoService.alocar(projeto.getMembrosIds());
+            ids.add(projeto.getId());
+        }
+        entityManager.flush();
+        statistics.clear();
+
+        List<ResultadoTransicaoDto> resultados = projetoService.avancarStatusLote(
+                new TransicaoLoteDto(List.of(ids.get(0), ids.get(1), ids.get(2), ids.get(3), 999999L), null, null));
+
+        assertEquals(5, resultados.size());
+        assertEquals(Status.ENCERRADO, resultados.get(0).status());
+        assertEquals(Status.ENCERRADO, resultados.get(1).status());
+        assertEquals(Status.EM_ANDAMENTO, resultados.get(2).status());
+        assertNull(resultados.get(3).status());
+        assertNotNull(resultados.get(3).erro());
+        assertEquals("Projeto com ID 999999 não encontrado", resultados.get(4).erro());
+        //Leitura dos projetos e um UPDATE por status, sem um statement por projeto
+        assertTrue(statistics.getPrepareStatementCount() < 15, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        assertEquals(LocalDate.now(), entityManager.find(ProjetoEntity.class, ids.get(0)).getDataTermino());
+        assertNull(entityManager.find(ProjetoEntity.class, ids.get(2)).getDataTermino());
+        assertEquals(0, projetosAtivos(50L));
+        assertEquals(1, projetosAtivos(62L));
+
+        List<ResultadoTransicaoDto> cancelados = projetoService.cancelarLote(new TransicaoLoteDto(null, Status.EM_ANDAMENTO, 1L));
+
+        assertEquals(List.of(new ResultadoTransicaoDto(ids.get(2), Status.EM_ANDAMENTO, Status.CANCELADO, null)), cancelados);
+        assertEquals(0, projetosAtivos(62L));
+
+        RelatorioDto incremental = projetoService.retornarDadosRelatorio();
+        RelatorioDto reconstruido = projetoService.reconstruirRelatorio();
+        assertEquals(reconstruido.quantidadePorStatus(), incremental.quantidadePorStatus());
+        reconstruido.totalOrcadoPorStatus().forEach((chave, valor) -> assertEquals(0, valor.compareTo(incremental.totalOrcadoPorStatus().get(chave))));
+        assertEquals(reconstruido.mediaDuracaoProjetosEncerrados(), incremental.mediaDuracaoProjetosEncerrados());
+    }
+
+    @Test
+    @DisplayName("A reclassificação deve gravar o risco atual dos projetos sem carregar as entidades")
+    void reclassificarRiscos() {
+        criarProjetos(3);
+        List<Long> ids = entityManager.getEntityManager().createQuery("SELECT p.id FROM projeto p ORDER BY p.id", Long.class).getResultList();
+        entityManager.getEntityManager().createQuery("UPDATE projeto p SET p.risco = :risco WHERE p.id = :id")
+                .setParameter("risco", ClassificacaoRisco.ALTO)
+                .setParameter("id", ids.get(1))
+                .executeUpdate();
+        statistics.clear();
+
+        ReclassificacaoRiscoDto resultado = projetoService.reclassificarRiscos();
+
+        //Orçamento de 1000 em 151 dias: médio pelo prazo
+        assertEquals(3L, resultado.projetosAnalisados());
+        assertEquals(3L, resultado.projetosAlterados());
+        assertEquals(0, statistics.getEntityLoadCount());
+        ids.forEach(id -> assertEquals(ClassificacaoRisco.MEDIO, entityManager.find(ProjetoEntity.class, id).getRisco()));
+        assertEquals(new ReclassificacaoRiscoDto(3L, 0L), projetoService.reclassificarRiscos());
+    }
+
+    private int projetosAtivos(Long membroId) {
+        return entityManager.find(MembroAlocacaoEntity.class, membroId).getProjetosAtivos();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.cadastroProjetos.service;
+
+import com.example.cadastroProjetos.model.dto.MembroDto;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MembroApiMockadaTest {
+
+    private static final String URL_MEMBRO = "/membro/retornarMembro/{id}";
+
+    @Mock
+    private RestTemplate membroRestTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private MembroApiMockada membroApiMockada;
+
+    private final AtomicLong tempo = new AtomicLong();
+
+    @BeforeEach
+    void setup(){
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(membroApiMockada, "tamanhoMaximoCache", 100L);
+        ReflectionTestUtils.setField(membroApiMockada, "ttlCache", 600L);
+        ReflectionTestUtils.setField(membroApiMockada, "ttlNegativoCache", 30L);
+        ReflectionTestUtils.setField(membroApiMockada, "ticker", (Ticker) tempo::get);
+        membroApiMockada.iniciarCache();
+    }
+
+    @Test
+    @DisplayName("Deve guardar o membro encontrado até o fim do TTL")
+    void membroEncontradoExpiraNoTtl() {
+        when(membroRestTemplate.getForEntity(URL_MEMBRO, MembroDto.class, 1L))
+                .thenReturn(ResponseEntity.ok(new MembroDto("Kauã", "Gerente")));
+
+        assertEquals(new MembroDto("Kauã", "Gerente"), membroApiMockada.consultarID(1L));
+        avancar(Duration.ofSeconds(599));
+        assertEquals(new MembroDto("Kauã", "Gerente"), membroApiMockada.consultarID(1L));
+        verify(membroRestTemplate, times(1)).getForEntity(URL_MEMBRO, MembroDto.class, 1L);
+
+        avancar(Duration.ofSeconds(1));
+        membroApiMockada.consultarID(1L);
+        verify(membroRestTemplate, times(2)).getForEntity(URL_MEMBRO, MembroDto.class, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve guardar o ID não encontrado pelo TTL negativo, mais curto")
+    void membroNaoEncontradoFicaNoCacheNegativo() {
+        when(membroRestTemplate.getForEntity(URL_MEMBRO, MembroDto.class, 99L)).thenReturn(ResponseEntity.ok(null));
+
+        assertNull(membroApiMockada.consultarID(99L));
+        assertNull(membroApiMockada.consultarID(99L));
+        assertTrue(membroApiMockada.consultarIDs(List.of(99L)).isEmpty());
+        avancar(Duration.ofSeconds(29));
+        assertNull(membroApiMockada.consultarID(99L));
+        verify(membroRestTemplate, times(1)).getForEntity(URL_MEMBRO, MembroDto.class, 99L);
+        verify(membroRestTemplate, never()).exchange(anyString(), any(), any(), any(ParameterizedTypeReference.class));
+
+        avancar(Duration.ofSeconds(1));
+        assertNull(membroApiMockada.consultarID(99L));
+        verify(membroRestTemplate, times(2)).getForEntity(URL_MEMBRO, MembroDto.class, 99L);
+    }
+
+    @Test
+    @DisplayName("Requisições simultâneas do mesmo ID não encontrado no cache devem buscar o membro uma única vez")
+    void buscaUnicaParaRequisicoesSimultaneas() throws Exception {
+        int requisicoes = 8;
+        CountDownLatch liberarBusca = new CountDownLatch(1);
+        when(membroRestTemplate.getForEntity(URL_MEMBRO, MembroDto.class, 5L)).thenAnswer(invocacao -> {
+            assertTrue(liberarBusca.await(10, TimeUnit.SECONDS));
+            return ResponseEntity.ok(new MembroDto("Ana", "Funcionário"));
+        });
+
+        List<FutureTask<MembroDto>> respostas = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < requisicoes; i++) {
+            FutureTask<MembroDto> resposta = new FutureTask<>(() -> membroApiMockada.consultarID(5L));
+            respostas.add(resposta);
+            threads.add(Thread.ofPlatform().start(resposta));
+        }
+        //Libera a busca só depois que todas as requisições pararam: uma na busca e as outras esperando pelo mesmo resultado
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (threads.stream().anyMatch(thread -> thread.getState() == Thread.State.RUNNABLE) && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        liberarBusca.countDown();
+
+        for (FutureTask<MembroDto> resposta : respostas) {
+            assertEquals(new MembroDto("Ana", "Funcionário"), resposta.get(10, TimeUnit.SECONDS));
+        }
+        verify(membroRestTemplate, times(1)).getForEntity(URL_MEMBRO, MembroDto.class, 5L);
+    }
+
+    private void avancar(Duration duracao) {
+        tempo.addAndGet(duracao.toNanos());
+    }
+}
@@ -3,23 +3,40 @@ package com.example.cadastroProjetos.service;
 import com.example.cadastroProjetos.customException.RecursoNaoEncontradoException;
 import com.example.cadastroProjetos.customException.RegraNegocioException;
 import com.example.cadastroProjetos.customException.ValidacaoException;
+import com.example.cadastroProjetos.infra.ExecutorConsultas;
+import com.example.cadastroProjetos.infra.VersaoDados;
 import com.example.cadastroProjetos.model.dto.*;
 import com.example.cadastroProjetos.model.entity.ProjetoEntity;
 import com.example.cadastroProjetos.model.enums.ClassificacaoRisco;
 import com.example.cadastroProjetos.model.enums.Status;
 import com.example.cadastroProjetos.repository.ProjetoRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +52,28 @@ class ProjetoServiceTest {
     @Mock
     private MembroApiMockada membroApiMockada;
 
+    @Mock
+    private RelatorioService relatorioService;
+
+    @Mock
+    private VersaoDados versaoDados;
+
+    @Mock
+    private AlocacaoMembroService alocacaoService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private ExecutorConsultas executorConsultas = new ExecutorConsultas(4);
+
+    @Spy
+    private ClassificacaoRiscoService classificacaoRiscoService =
+            new ClassificacaoRiscoService(new BigDecimal("100000"), new BigDecimal("500000"), 90, 179);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ProjetoService projetoService;
 
@@ -46,63 +85,48 @@ class ProjetoServiceTest {
     @Test
     @DisplayName("Não deve retornar exceção quando ID do membro for encontrado")
     void validarMembroEncontradoSucesso() {
-        when(membroApiMockada.consultarID(1L)).thenReturn(new MembroDto("Kauã", "Funcionário"));
-
         assertDoesNotThrow(() ->{
-            projetoService.validarMembroIndividual(1L);
+            projetoService.validarMembroIndividual(1L, new MembroDto("Kauã", "Funcionário"), 0L);
         });
     }
 
     @Test
     @DisplayName("Deve retornar exceção quando ID do membro não for encontrado")
     void validarMembroNaoEncontradoFalha() {
-        when(membroApiMockada.consultarID(1L)).thenReturn(null);
-
         assertThrows(RecursoNaoEncontradoException.class, () ->{
-            projetoService.validarMembroIndividual(1L);
+            projetoService.validarMembroIndividual(1L, null, 0L);
         });
     }
 
     @Test
     @DisplayName("Não deve retornar exceção pois o cargo está correto")
     void validarMembroCargoSucesso() {
-        when(membroApiMockada.consultarID(1L)).thenReturn(new MembroDto("Kauã", "Funcionário"));
-
         assertDoesNotThrow(() ->{
-            projetoService.validarMembroIndividual(1L);
+            projetoService.validarMembroIndividual(1L, new MembroDto("Kauã", "Funcionário"), 0L);
         });
     }
 
     @Test
     @DisplayName("Deve retornar exceção referente ao cargo estar diferente de funcionário")
     void validarMembroCargoFalha() {
-        when(membroApiMockada.consultarID(1L)).thenReturn(new MembroDto("Kauã", "Gerente"));
-
         assertThrows(RegraNegocioException.class, () ->{
-            projetoService.validarMembroIndividual(1L);
+            projetoService.validarMembroIndividual(1L, new MembroDto("Kauã", "Gerente"), 0L);
         });
     }
 
     @Test
     @DisplayName("Não deve retornar exceção pois o membro não está em pelo menos 3 projetos")
     void validarLimiteTresMembrosPorProjetoSucesso(){
-        when(membroApiMockada.consultarID(1L)).thenReturn(new MembroDto("Kauã", "Funcionário"));
-        when(repository.contarProjetosMembroAtivo(1L, List.of(Status.ENCERRADO, Status.CANCELADO))).thenReturn(2L);
-
         assertDoesNotThrow(() ->{
-            projetoService.validarMembroIndividual(1L);
+            projetoService.validarMembroIndividual(1L, new MembroDto("Kauã", "Funcionário"), 2L);
         });
     }
 
     @Test
     @DisplayName("Deve retornar exceção se membro já estiver em pelo menos 3 projetos")
     void validarLimiteTresMembrosPorProjetoFalha(){
-        when(membroApiMockada.consultarID(1L)).thenReturn(new MembroDto("Kauã", "Funcionário"));
-
-        when(repository.contarProjetosMembroAtivo(1L, List.of(Status.ENCERRADO, Status.CANCELADO))).thenReturn(4L);
-
         assertThrows(RegraNegocioException.class, () ->{
-            projetoService.validarMembroIndividual(1L);
+            projetoService.validarMembroIndividual(1L, new MembroDto("Kauã", "Funcionário"), 4L);
         });
     }
 
@@ -111,14 +135,26 @@ class ProjetoServiceTest {
     void validarLimiteDeMembrosNoProjetoSucesso(){
         List<Long> membrosId = List.of(1L,2L,3L,4L,5L,6L,7L);
 
+        assertDoesNotThrow(() -> {
+            projetoService.validarQuantidadeMembros(membrosId);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve retornar exceção quando um dos membros já estiver em 3 projetos ativos")
+    void validarLimiteDeProjetosMembroDaEquipeFalha(){
+        List<Long> membrosId = List.of(1L,2L,3L);
+
+        Map<Long, MembroDto> membros = new HashMap<>();
+
         for(Long id : membrosId){
-            when(membroApiMockada.consultarID(id)).thenReturn(new MembroDto("Membro" + id, "Funcionário"));
-            when(repository.contarProjetosMembroAtivo(id, List.of(Status.ENCERRADO, Status.CANCELADO))).thenReturn(0L);
+            membros.put(id, new MembroDto("Membro" + id, "Funcionário"));
         }
 
-        assertDoesNotThrow(() -> {
-            projetoService.validarQuantidadeMembros(membrosId);
+        RegraNegocioException exception = assertThrows(RegraNegocioException.class, () -> {
+            projetoService.validarMembros(membrosId, membros, Map.of(1L, 1L, 2L, 3L));
         });
+        assertEquals("Membro com o ID 2 já está em 3 ou mais projetos", exception.getMessage());
     }
 
     @Test
@@ -136,13 +172,15 @@ class ProjetoServiceTest {
     void validarMembrosRepetidosSucesso(){
         List<Long> membrosId = List.of(1L,2L,3L,4L,5L,6L,7L,8L);
 
+        Map<Long, MembroDto> membros = new HashMap<>();
+
         for(Long id : membrosId){
-            when(membroApiMockada.consultarID(id)).thenReturn(new MembroDto("Membro" + id, "Funcionário"));
-            when(repository.contarProjetosMembroAtivo(id, List.of(Status.ENCERRADO, Status.CANCELADO))).thenReturn(0L);
+            membros.put(id, new MembroDto("Membro" + id, "Funcionário"));
         }
 
         assertDoesNotThrow(() -> {
             projetoService.validarQuantidadeMembros(membrosId);
+            projetoService.validarMembros(membrosId, membros, Map.of());
         });
     }
 
@@ -170,10 +208,8 @@ class ProjetoServiceTest {
                 List.of(2L, 3L)
         );
 
-        when(membroApiMockada.consultarID(1L)).thenReturn(new MembroDto("Kauã", "Gerente"));
-
         assertDoesNotThrow(() ->{
-            projetoService.validarGerente(projetoDto, List.of(2L, 3L));
+            projetoService.validarGerente(projetoDto, List.of(2L, 3L), new MembroDto("Kauã", "Gerente"));
         });
     }
 
@@ -191,10 +227,8 @@ class ProjetoServiceTest {
                 List.of(2L, 3L)
         );
 
-        when(membroApiMockada.consultarID(1L)).thenReturn(null);
-
         assertThrows(RecursoNaoEncontradoException.class, () ->{
-            projetoService.validarGerente(projetoDto, null);
+            projetoService.validarGerente(projetoDto, null, null);
         });
     }
 
@@ -212,11 +246,8 @@ class ProjetoServiceTest {
                 null
         );
 
-        when(membroApiMockada.consultarID(projetoTeste.gerenteId()))
-                .thenReturn(new MembroDto("Kauã", "Gerente"));
-
         assertDoesNotThrow(() -> {
-            projetoService.validarGerente(projetoTeste, Collections.emptyList());
+            projetoService.validarGerente(projetoTeste, Collections.emptyList(), new MembroDto("Kauã", "Gerente"));
         });
     }
 
@@ -234,11 +265,8 @@ class ProjetoServiceTest {
                 null
         );
 
-        when(membroApiMockada.consultarID(projetoTeste.gerenteId()))
-                .thenReturn(new MembroDto("Kauã", "Funcionário"));
-
         assertThrows(RegraNegocioException.class, () -> {
-           projetoService.validarGerente(projetoTeste, Collections.emptyList());
+           projetoService.validarGerente(projetoTeste, Collections.emptyList(), new MembroDto("Kauã", "Funcionário"));
         });
     }
 
@@ -259,11 +287,8 @@ class ProjetoServiceTest {
                 membrosId
         );
 
-        when(membroApiMockada.consultarID(idGerente)).thenReturn(new MembroDto("Fulano", "Gerente"));
-        when(membroApiMockada.consultarID(idFuncionario)).thenReturn(new MembroDto("Kauã", "Funcionário"));
-
         assertDoesNotThrow(() -> {
-            projetoService.validarGerente(projetoTeste, membrosId);
+            projetoService.validarGerente(projetoTeste, membrosId, new MembroDto("Fulano", "Gerente"));
         });
     }
 
@@ -283,10 +308,8 @@ class ProjetoServiceTest {
                 membrosId
         );
 
-        when(membroApiMockada.consultarID(gerenteId)).thenReturn(new MembroDto("Kauã", "Gerente"));
-
         assertThrows(RegraNegocioException.class, () -> {
-            projetoService.validarGerente(projetoTeste, membrosId);
+            projetoService.validarGerente(projetoTeste, membrosId, new MembroDto("Kauã", "Gerente"));
         });
     }
 
@@ -298,12 +321,13 @@ class ProjetoServiceTest {
         ArgumentCaptor<ProjetoEntity> captor = ArgumentCaptor.forClass(ProjetoEntity.class);
 
         //Verificar Membros e Gerente
-        when(membroApiMockada.consultarID(gerenteId)).thenReturn(new MembroDto("Kauã","Gerente"));
+        Map<Long, MembroDto> equipe = new HashMap<>();
+        equipe.put(gerenteId, new MembroDto("Kauã","Gerente"));
 
         for(Long id : membrosId){
-            when(repository.contarProjetosMembroAtivo(id, List.of(Status.ENCERRADO, Status.CANCELADO))).thenReturn(0L);
-            when(membroApiMockada.consultarID(id)).thenReturn(new MembroDto("Fulano" + id, "Funcionário"));
+            equipe.put(id, new MembroDto("Fulano" + id, "Funcionário"));
         }
+        when(membroApiMockada.consultarIDs(anyCollection())).thenReturn(equipe);
 
         //Criação Projeto
         ProjetoDto projetoTeste = new ProjetoDto(
@@ -319,70 +343,55 @@ class ProjetoServiceTest {
 
         projetoService.criar(projetoTeste);
 
+        verify(membroApiMockada, Mockito.times(1)).consultarIDs(anyCollection());
+        verify(repository, Mockito.times(1)).contarProjetosMembrosAtivos(membrosId, List.of(Status.ENCERRADO, Status.CANCELADO));
         verify(repository, Mockito.times(1)).save(captor.capture());
         ProjetoEntity entitySalvo = captor.getValue();
 
         assertEquals(ClassificacaoRisco.BAIXO, entitySalvo.getRisco());
         assertEquals(Status.EM_ANALISE, entitySalvo.getStatus());
+        verify(relatorioService).registrarProjeto(entitySalvo);
     }
 
     @Test
-    @DisplayName("Deve retornar os dados do relatório com sucesso")
-    void retornarDadosRelatorioComSucesso() {
-        ProjetoEntity projeto_teste1 = new ProjetoEntity();
-        projeto_teste1.setNome("Teste1");
-        projeto_teste1.setDataInicio(LocalDate.now());
-        projeto_teste1.setPrevisaoTermino(LocalDate.now().plusMonths(2));
-        projeto_teste1.setDescricao("Descrição");
-        projeto_teste1.setGerente(1L);
-        projeto_teste1.setOrcamento(new BigDecimal("100"));
-        projeto_teste1.setMembrosIds(List.of(2L,3L));
-        projeto_teste1.setStatus(Status.EM_ANALISE);
-
-        ProjetoEntity projeto_teste2 = new ProjetoEntity();
-        projeto_teste2.setNome("Teste2");
-        projeto_teste2.setDataInicio(LocalDate.now());
-        projeto_teste2.setPrevisaoTermino(LocalDate.now().plusMonths(5));
-        projeto_teste2.setDescricao("Descrição");
-        projeto_teste2.setGerente(4L);
-        projeto_teste2.setOrcamento(new BigDecimal("150"));
-        projeto_teste2.setMembrosIds(List.of(5L,6L));
-        projeto_teste2.setStatus(Status.EM_ANDAMENTO);
-
-        ProjetoEntity projeto_teste3 = new ProjetoEntity();
-        projeto_teste3.setNome("Teste1");
-        projeto_teste3.setDataInicio(LocalDate.now());
-        projeto_teste3.setPrevisaoTermino(LocalDate.now().plusMonths(7));
-        projeto_teste3.setDataTermino(LocalDate.now().plusMonths(7));
-        projeto_teste3.setDescricao("Descrição");
-        projeto_teste3.setGerente(7L);
-        projeto_teste3.setOrcamento(new BigDecimal("200"));
-        projeto_teste3.setMembrosIds(List.of(8L,9L));
-        projeto_teste3.setStatus(Status.ENCERRADO);
-
-        List<ProjetoEntity> projetos = List.of(projeto_teste1, projeto_teste2, projeto_teste3);
+    @DisplayName("Não deve criar o projeto quando um membro da equipe não for encontrado")
+    void CriarProjetoFalha_membroNaoEncontrado() {
+        List<Long> membrosId = List.of(1L,2L,3L);
+        Long gerenteId = 6L;
 
-        when(repository.findAll()).thenReturn(projetos);
+        when(membroApiMockada.consultarIDs(anyCollection())).thenReturn(Map.of(
+                gerenteId, new MembroDto("Kauã","Gerente"),
+                1L, new MembroDto("Fulano", "Funcionário"),
+                3L, new MembroDto("Ciclano", "Funcionário")
+        ));
 
-        RelatorioDto data = projetoService.retornarDadosRelatorio();
+        ProjetoDto projetoTeste = new ProjetoDto(
+                "ProjetoTeste",
+                LocalDate.now(),
+                LocalDate.now().plusMonths(2),
+                null,
+                new BigDecimal("500"),
+                "ProjetoTeste",
+                gerenteId,
+                membrosId
+        );
 
-        assertEquals(3,data.quantidadePorStatus().values().stream().reduce(0L, Long::sum));
-        assertEquals(BigDecimal.valueOf(450),data.totalOrcadoPorStatus().values().stream().reduce(BigDecimal.valueOf(0),BigDecimal::add));
-        assertEquals(7,data.mediaDuracaoProjetosEncerrados());
-        assertEquals(6,data.totalMembrosUnicos());
+        RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () -> {
+            projetoService.criar(projetoTeste);
+        });
+        assertEquals("Membro do código 2 não encontrado", exception.getMessage());
+        verify(repository, never()).save(any());
+        verifyNoInteractions(relatorioService);
     }
 
     @Test
-    @DisplayName("Deve retornar relatorio com dados nulos quando for houver projetos existentes")
-    void retornarDadosRelatorioComFalha() {
-        when(repository.findAll()).thenReturn(List.of());
-
-        RelatorioDto data = projetoService.retornarDadosRelatorio();
+    @DisplayName("Deve retornar os dados do relatório mantidos pelo RelatorioService")
+    void retornarDadosRelatorioComSucesso() {
+        RelatorioDto relatorio = new RelatorioDto(Map.of(Status.ENCERRADO, 1L), Map.of(Status.ENCERRADO, new BigDecimal("200")), 7L, 6L);
+        when(relatorioService.gerar()).thenReturn(relatorio);
 
-        assertEquals(0,data.quantidadePorStatus().values().stream().reduce(0L, Long::sum));
-        assertEquals(BigDecimal.ZERO,data.totalOrcadoPorStatus().values().stream().reduce(BigDecimal.valueOf(0),BigDecimal::add));
-        assertEquals(0,data.mediaDuracaoProjetosEncerrados());
-        assertEquals(0,data.totalMembrosUnicos());
+        assertEquals(relatorio, projetoService.retornarDadosRelatorio());
+        verifyNoInteractions(repository);
     }
 
     @Test
@@ -420,11 +429,15 @@ class ProjetoServiceTest {
         projeto_teste3.setStatus(Status.ENCERRADO);
 
         List<ProjetoEntity> projetos = List.of(projeto_teste1, projeto_teste2, projeto_teste3);
-        when(repository.findAll()).thenReturn(projetos);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(projetos, pageable, 3));
 
-        List<ProjetoResponseDto> projetoDtos = projetoService.mostrarProjetos();
+        ProjetoPaginaDto pagina = projetoService.mostrarProjetos(filtroVazio(), pageable);
+        List<ProjetoResponseDto> projetoDtos = pagina.projetos();
 
         assertEquals(3, projetoDtos.size());
+        assertEquals(3L, pagina.totalProjetos());
+        assertNull(pagina.proximoCursor());
 
         assertEquals("Teste1", projetoDtos.get(0).nome());
         assertEquals(Status.EM_ANALISE, projetoDtos.get(0).status());
@@ -440,13 +453,50 @@ class ProjetoServiceTest {
     @DisplayName("Deve retornar uma lista vazia quando não houver projetos")
     void mostrarProjetosFalha() {
         List<ProjetoEntity> projetos = List.of();
-        when(repository.findAll()).thenReturn(projetos);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(projetos, pageable, 0));
 
-        List<ProjetoResponseDto> projetoDtos = projetoService.mostrarProjetos();
+        List<ProjetoResponseDto> projetoDtos = projetoService.mostrarProjetos(filtroVazio(), pageable).projetos();
 
         assertTrue(projetoDtos.isEmpty());
     }
 
+    @Test
+    @DisplayName("Deve retornar o próximo cursor quando houver mais projetos após a página")
+    void mostrarProjetosCursorComProximaPagina() {
+        List<ProjetoEntity> projetos = new ArrayList<>();
+        for (long id = 11; id <= 13; id++) {
+            ProjetoEntity projeto = new ProjetoEntity();
+            ReflectionTestUtils.setField(projeto, "id", id);
+            projeto.setNome("Projeto" + id);
+            projetos.add(projeto);
+        }
+        doReturn(projetos).when(repository).findBy(any(Specification.class), any());
+
+        ProjetoPaginaDto pagina = projetoService.mostrarProjetos(filtroVazio(), 10L, 2);
+
+        assertEquals(2, pagina.projetos().size());
+        assertEquals(12L, pagina.proximoCursor());
+        assertNull(pagina.totalProjetos());
+    }
+
+    @Test
+    @DisplayName("Não deve retornar cursor na última página")
+    void mostrarProjetosCursorUltimaPagina() {
+        ProjetoEntity projeto = new ProjetoEntity();
+        ReflectionTestUtils.setField(projeto, "id", 11L);
+        doReturn(List.of(projeto)).when(repository).findBy(any(Specification.class), any());
+
+        ProjetoPaginaDto pagina = projetoService.mostrarProjetos(filtroVazio(), 10L, 2);
+
+        assertEquals(1, pagina.projetos().size());
+        assertNull(pagina.proximoCursor());
+    }
+
+    private ProjetoFiltroDto filtroVazio() {
+        return new ProjetoFiltroDto(null, null, null, null, null, null, null, null, null);
+    }
+
     @Test
     @DisplayName("Deve adicionar um membro com sucesso")
     void adicionarMembrosSucesso() {
@@ -460,11 +510,11 @@ class ProjetoServiceTest {
 
         when(repository.findById(projetoID)).thenReturn(Optional.of(projeto_teste1));
 
-        when(membroApiMockada.consultarID(4L)).thenReturn(new MembroDto("Kauã", "Funcionário"));
-        when(membroApiMockada.consultarID(5L)).thenReturn(new MembroDto("Kauã", "Funcionário"));
+        when(membroApiMockada.consultarIDs(membrosId)).thenReturn(Map.of(
+                4L, new MembroDto("Kauã", "Funcionário"),
+                5L, new MembroDto("Kauã", "Funcionário")
+        ));
 
-        when(repository.contarProjetosMembroAtivo(4L, List.of(Status.ENCERRADO, Status.CANCELADO ))).thenReturn(0L);
-        when(repository.contarProjetosMembroAtivo(5L, List.of(Status.ENCERRADO, Status.CANCELADO ))).thenReturn(0L);
 
         ProjetoResponseDto responseDto = projetoService.adicionarMembros(projetoID, projetoRequestDto);
 
@@ -472,6 +522,7 @@ class ProjetoServiceTest {
         assertEquals(4, responseDto.membrosIds().size());
         assertTrue(projeto_teste1.getMembrosIds().contains(4L));
         assertTrue(projeto_teste1.getMembrosIds().contains(5L));
+        verify(relatorioService).registrarMembros(membrosId);
     }
 
     @Test
@@ -502,13 +553,13 @@ class ProjetoServiceTest {
         projeto_teste1.setMembrosIds(new ArrayList<>(List.of(2L,3L)));
 
         when(repository.findById(projetoID)).thenReturn(Optional.of(projeto_teste1));
-        when(membroApiMockada.consultarID(4L)).thenReturn(null);
+        when(membroApiMockada.consultarIDs(membrosId)).thenReturn(Map.of());
 
         assertThrows(RecursoNaoEncontradoException.class, () -> {
             projetoService.adicionarMembros(projetoID,projetoRequestDto);
         });
         verify(repository).findById(projetoID);
-        verify(membroApiMockada).consultarID(4L);
+        verify(membroApiMockada).consultarIDs(membrosId);
         verify(repository, never()).save(any());
     }
 
@@ -566,7 +617,7 @@ class ProjetoServiceTest {
         projeto_teste1.setMembrosIds(new ArrayList<>(List.of(1L,2L)));
 
         when(repository.findById(projetoID)).thenReturn(Optional.of(projeto_teste1));
-        when(membroApiMockada.consultarID(gerenteID)).thenReturn(new MembroDto("Kauã", "Gerente"));
+        when(membroApiMockada.consultarIDs(membrosId)).thenReturn(Map.of(gerenteID, new MembroDto("Kauã", "Gerente")));
 
         RegraNegocioException exception = assertThrows(RegraNegocioException.class, () ->{
            projetoService.adicionarMembros(projetoID, projetoRequestDto);
@@ -588,8 +639,9 @@ class ProjetoServiceTest {
         projeto_teste1.setMembrosIds(new ArrayList<>(List.of(1L,2L)));
 
         when(repository.findById(projetoID)).thenReturn(Optional.of(projeto_teste1));
-        when(membroApiMockada.consultarID(membroId)).thenReturn(new MembroDto("Kauã", "Membro"));
-        when(repository.contarProjetosMembroAtivo(membroId,List.of(Status.ENCERRADO,Status.CANCELADO))).thenReturn(3L);
+        when(membroApiMockada.consultarIDs(membrosId)).thenReturn(Map.of(membroId, new MembroDto("Kauã", "Membro")));
+        when(repository.contarProjetosMembrosAtivos(membrosId, List.of(Status.ENCERRADO, Status.CANCELADO)))
+                .thenReturn(List.of(new MembroProjetosAtivosDto(membroId, 3L)));
 
         assertThrows(RegraNegocioException.class, () ->{
             projetoService.adicionarMembros(projetoID, projetoRequestDto);
@@ -617,98 +669,319 @@ class ProjetoServiceTest {
         verify(repository).findById(projetoID);
     }
 
+    @Test
+    @DisplayName("Deve classificar o risco pelos limites de orçamento e prazo, sem faixa descoberta entre baixo e médio")
+    void classificarRiscoLimites() {
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+
+        assertEquals(ClassificacaoRisco.BAIXO, projetoService.classificarRisco(new BigDecimal("100000"), inicio, inicio.plusDays(90)));
+        assertEquals(ClassificacaoRisco.MEDIO, projetoService.classificarRisco(new BigDecimal("100000.50"), inicio, inicio.plusDays(30)));
+        assertEquals(ClassificacaoRisco.MEDIO, projetoService.classificarRisco(new BigDecimal("500000"), inicio, inicio.plusDays(30)));
+        assertEquals(ClassificacaoRisco.MEDIO, projetoService.classificarRisco(new BigDecimal("50000"), inicio, inicio.plusDays(179)));
+        assertEquals(ClassificacaoRisco.ALTO, projetoService.classificarRisco(new BigDecimal("50000"), inicio, inicio.plusDays(180)));
+        assertEquals(ClassificacaoRisco.ALTO, projetoService.classificarRisco(new BigDecimal("500000.01"), inicio, inicio.plusDays(30)));
+    }
+
+    @Test
+    @DisplayName("Deve recusar limites de risco baixo maiores que os de risco médio")
+    void classificarRiscoLimitesInvalidos() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ClassificacaoRiscoService(new BigDecimal("600000"), new BigDecimal("500000"), 90, 179));
+        assertThrows(IllegalArgumentException.class, () ->
+                new ClassificacaoRiscoService(new BigDecimal("100000"), new BigDecimal("500000"), 200, 179));
+    }
+
+    @Test
+    @DisplayName("Deve reclassificar os projetos em blocos pelo ID, gravando só os que mudaram de risco")
+    void reclassificarRiscosEmBlocos() {
+        ReflectionTestUtils.setField(projetoService, "tamanhoBloco", 2);
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+
+        when(repository.buscarParaReclassificacao(eq(0L), any())).thenReturn(List.of(
+                new ProjetoRiscoDto(1L, new BigDecimal("100000.50"), inicio, inicio.plusDays(30), ClassificacaoRisco.ALTO),
+                new ProjetoRiscoDto(2L, new BigDecimal("1000"), inicio, inicio.plusDays(30), ClassificacaoRisco.BAIXO)));
+        when(repository.buscarParaReclassificacao(eq(2L), any())).thenReturn(List.of(
+                new ProjetoRiscoDto(5L, new BigDecimal("900000"), inicio, inicio.plusDays(30), ClassificacaoRisco.MEDIO)));
+        when(repository.buscarParaReclassificacao(eq(5L), any())).thenReturn(List.of());
+
+        ReclassificacaoRiscoDto resultado = projetoService.reclassificarRiscos();
+
+        assertEquals(new ReclassificacaoRiscoDto(3L, 2L), resultado);
+        verify(repository).atualizarRisco(List.of(1L), ClassificacaoRisco.MEDIO);
+        verify(repository).atualizarRisco(List.of(5L), ClassificacaoRisco.ALTO);
+        verify(repository, times(2)).atualizarRisco(any(), any());
+        verify(repository, never()).findAll();
+    }
+
+    private ProjetoTransicaoDto projetoParaTransicao(Status status) {
+        return new ProjetoTransicaoDto(1L, status, new BigDecimal("1000"), LocalDate.of(2025, 1, 1), null);
+    }
+
     @Test
     @DisplayName("Deve avançar o status do projeto com sucesso")
     void avancarStatusSucesso() {
         Long projetoID = 1L;
-        Status status = Status.PLANEJADO;
-        ProjetoEntity projetoTeste = new ProjetoEntity();
-        projetoTeste.setStatus(status);
 
-        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.PLANEJADO)));
+        when(repository.transicionarStatus(projetoID, Status.PLANEJADO, Status.EM_ANDAMENTO, null)).thenReturn(1);
         projetoService.avancarStatus(projetoID);
 
-        assertEquals(Status.EM_ANDAMENTO, projetoTeste.getStatus());
-        verify(repository).findById(projetoID);
-        verify(repository).save(projetoTeste);
+        verify(repository).transicionarStatus(projetoID, Status.PLANEJADO, Status.EM_ANDAMENTO, null);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+        verify(relatorioService).registrarTransicao(eq(Status.PLANEJADO), eq(Status.EM_ANDAMENTO), any(), any(), any());
+        verify(alocacaoService, never()).liberarProjetos(any());
+    }
+
+    @Test
+    @DisplayName("Ao encerrar, deve gravar a data de término e liberar os membros")
+    void avancarStatusEncerrar() {
+        Long projetoID = 1L;
+
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.EM_ANDAMENTO)));
+        when(repository.transicionarStatus(projetoID, Status.EM_ANDAMENTO, Status.ENCERRADO, LocalDate.now())).thenReturn(1);
+        projetoService.avancarStatus(projetoID);
+
+        verify(relatorioService).registrarTransicao(eq(Status.EM_ANDAMENTO), eq(Status.ENCERRADO), any(), any(), eq(LocalDate.now()));
+        verify(alocacaoService).liberarProjetos(List.of(projetoID));
+    }
+
+    @Test
+    @DisplayName("Deve repetir a transição quando outra requisição mudar o status no meio")
+    void avancarStatusConflito() {
+        Long projetoID = 1L;
+        ReflectionTestUtils.setField(projetoService, "tentativas", 2);
+
+        when(repository.buscarParaTransicao(projetoID))
+                .thenReturn(Optional.of(projetoParaTransicao(Status.EM_ANALISE)))
+                .thenReturn(Optional.of(projetoParaTransicao(Status.ANALISE_REALIZADA)));
+        when(repository.transicionarStatus(projetoID, Status.EM_ANALISE, Status.ANALISE_REALIZADA, null)).thenReturn(0);
+        when(repository.transicionarStatus(projetoID, Status.ANALISE_REALIZADA, Status.ANALISE_APROVADA, null)).thenReturn(1);
+
+        projetoService.avancarStatus(projetoID);
+
+        verify(relatorioService, times(1)).registrarTransicao(any(), any(), any(), any(), any());
+        verify(relatorioService).registrarTransicao(eq(Status.ANALISE_REALIZADA), eq(Status.ANALISE_APROVADA), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o conflito continuar depois das tentativas")
+    void avancarStatusConflitoPersistente() {
+        Long projetoID = 1L;
+
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.EM_ANALISE)));
+        when(repository.transicionarStatus(any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> projetoService.avancarStatus(projetoID));
+        verify(relatorioService, never()).registrarTransicao(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve avançar o lote com um UPDATE por status e refazer individualmente o bloco que conflitou")
+    void avancarStatusLoteConflito() {
+        ReflectionTestUtils.setField(projetoService, "tamanhoBloco", 500);
+        ReflectionTestUtils.setField(projetoService, "tamanhoMaximoLote", 1000);
+        ReflectionTestUtils.setField(projetoService, "tentativas", 1);
+        ProjetoTransicaoDto planejado = new ProjetoTransicaoDto(1L, Status.PLANEJADO, new BigDecimal("1000"), LocalDate.of(2025, 1, 1), null);
+        ProjetoTransicaoDto analise = new ProjetoTransicaoDto(2L, Status.EM_ANALISE, new BigDecimal("1000"), LocalDate.of(2025, 1, 1), null);
+
+        when(repository.buscarParaTransicao(anyCollection())).thenReturn(List.of(planejado, analise));
+        when(repository.transicionarStatusEmLote(List.of(1L), Status.PLANEJADO, Status.EM_ANDAMENTO, null)).thenReturn(1);
+        //O projeto 2 mudou de status depois da leitura: o bloco não é gravado e ele segue pela transição individual
+        when(repository.transicionarStatusEmLote(List.of(2L), Status.EM_ANALISE, Status.ANALISE_REALIZADA, null)).thenReturn(0);
+        when(repository.buscarParaTransicao(2L)).thenReturn(Optional.of(
+                new ProjetoTransicaoDto(2L, Status.ANALISE_REALIZADA, new BigDecimal("1000"), LocalDate.of(2025, 1, 1), null)));
+        when(repository.transicionarStatus(2L, Status.ANALISE_REALIZADA, Status.ANALISE_APROVADA, null)).thenReturn(1);
+
+        List<ResultadoTransicaoDto> resultados = projetoService.avancarStatusLote(new TransicaoLoteDto(List.of(1L, 2L, 3L), null, null));
+
+        assertEquals(List.of(
+                new ResultadoTransicaoDto(1L, Status.PLANEJADO, Status.EM_ANDAMENTO, null),
+                new ResultadoTransicaoDto(2L, Status.ANALISE_REALIZADA, Status.ANALISE_APROVADA, null),
+                new ResultadoTransicaoDto(3L, null, null, "Projeto com ID 3 não encontrado")), resultados);
+        verify(relatorioService).registrarTransicoes(Status.PLANEJADO, Status.EM_ANDAMENTO, List.of(planejado), null);
+        verify(relatorioService, never()).registrarTransicoes(eq(Status.EM_ANALISE), any(), any(), any());
+        verify(relatorioService).registrarTransicao(eq(Status.ANALISE_REALIZADA), eq(Status.ANALISE_APROVADA), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve repetir o bloco da criação em lote quando a gravação conflitar com outra requisição")
+    void criarLoteRetentaBloco() {
+        prepararCriacaoLote();
+        doThrow(new OptimisticLockingFailureException("conflito"))
+                .doAnswer(invocacao -> {
+                    long id = 10L;
+                    for (ProjetoEntity projeto : invocacao.<List<ProjetoEntity>>getArgument(0)) {
+                        ReflectionTestUtils.setField(projeto, "id", id++);
+                    }
+                    return invocacao.getArgument(0);
+                })
+                .when(repository).saveAll(anyList());
+
+        List<ResultadoLoteDto> resultados = projetoService.criarLote(List.of(projetoLote(2L), projetoLote(3L)));
+
+        assertEquals(List.of(new ResultadoLoteDto(0, 10L, null), new ResultadoLoteDto(1, 11L, null)), resultados);
+        verify(repository, times(2)).saveAll(anyList());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve gravar individualmente o bloco que falhou e devolver o erro de cada projeto")
+    void criarLoteErroPorProjeto() {
+        prepararCriacaoLote();
+        //O membro 2 foi alocado em outro projeto depois da validação
+        doThrow(new RegraNegocioException("Membro já está em 3 ou mais projetos")).when(alocacaoService).alocar(anyMap());
+        doThrow(new RegraNegocioException("Membro já está em 3 ou mais projetos")).when(alocacaoService).alocar(List.of(2L));
+        when(repository.save(any())).thenAnswer(invocacao -> {
+            ProjetoEntity projeto = invocacao.getArgument(0);
+            ReflectionTestUtils.setField(projeto, "id", 20L);
+            return projeto;
+        });
+
+        List<ResultadoLoteDto> resultados = projetoService.criarLote(List.of(projetoLote(2L), projetoLote(3L)));
+
+        assertEquals(List.of(
+                new ResultadoLoteDto(0, null, "Membro já está em 3 ou mais projetos"),
+                new ResultadoLoteDto(1, 20L, null)), resultados);
+    }
+
+    private void prepararCriacaoLote() {
+        ReflectionTestUtils.setField(projetoService, "tamanhoBloco", 500);
+        ReflectionTestUtils.setField(projetoService, "tamanhoMaximoLote", 1000);
+        ReflectionTestUtils.setField(projetoService, "tentativas", 3);
+        when(membroApiMockada.consultarIDs(anyCollection())).thenReturn(Map.of(
+                1L, new MembroDto("Kauã", "Gerente"),
+                2L, new MembroDto("Pedro", "Funcionário"),
+                3L, new MembroDto("Ana", "Funcionário")));
+    }
+
+    private ProjetoDto projetoLote(Long membroId) {
+        return new ProjetoDto("ProjetoLote", LocalDate.now(), LocalDate.now().plusMonths(2), null,
+                new BigDecimal("500"), "ProjetoLote", 1L, List.of(membroId));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o lote não tiver IDs nem filtro")
+    void transicaoLoteSemFiltro() {
+        ValidacaoException exception = assertThrows(ValidacaoException.class, () ->
+                projetoService.cancelarLote(new TransicaoLoteDto(List.of(), null, null)));
+
+        assertEquals("Informe os IDs ou um filtro de status ou gerente", exception.getMessage());
+        verify(repository, never()).transicionarStatusEmLote(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o lote tiver IDs e filtro ao mesmo tempo")
+    void transicaoLoteIdsEFiltro() {
+        ValidacaoException exception = assertThrows(ValidacaoException.class, () ->
+                projetoService.avancarStatusLote(new TransicaoLoteDto(List.of(1L), Status.PLANEJADO, null)));
+
+        assertEquals("Informe os IDs ou um filtro de status ou gerente, não os dois", exception.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Deve buscar só uma linha além do limite e recusar o filtro que passar dele")
+    void transicaoLoteFiltroAcimaDoLimite() {
+        ReflectionTestUtils.setField(projetoService, "tamanhoMaximoLote", 2);
+        List<ProjetoTransicaoDto> encontrados = List.of(
+                new ProjetoTransicaoDto(1L, Status.PLANEJADO, new BigDecimal("1000"), LocalDate.of(2025, 1, 1), null),
+                new ProjetoTransicaoDto(2L, Status.PLANEJADO, new BigDecimal("1000"), LocalDate.of(2025, 1, 1), null),
+                new ProjetoTransicaoDto(3L, Status.PLANEJADO, new BigDecimal("1000"), LocalDate.of(2025, 1, 1), null));
+        when(repository.buscarParaTransicao(Status.PLANEJADO, null, Limit.of(3))).thenReturn(encontrados);
+
+        ValidacaoException exception = assertThrows(ValidacaoException.class, () ->
+                projetoService.avancarStatusLote(new TransicaoLoteDto(null, Status.PLANEJADO, null)));
+
+        assertEquals("O filtro encontrou mais de 2 projetos; o lote aceita no máximo 2", exception.getMessage());
+        verify(repository, never()).transicionarStatusEmLote(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve seguir as etapas em ordem, sem próxima etapa para encerrado e cancelado")
+    void retornaProximoStatusEmOrdem() {
+        List<Status> etapas = new ArrayList<>();
+        for (Status status = Status.EM_ANALISE; status != Status.ENCERRADO; status = projetoService.retornaProximoStatus(status)) {
+            etapas.add(status);
+        }
+
+        assertEquals(List.of(Status.EM_ANALISE, Status.ANALISE_REALIZADA, Status.ANALISE_APROVADA, Status.INICIADO,
+                Status.PLANEJADO, Status.EM_ANDAMENTO), etapas);
+        assertThrows(RegraNegocioException.class, () -> projetoService.retornaProximoStatus(Status.ENCERRADO));
+        assertThrows(RegraNegocioException.class, () -> projetoService.retornaProximoStatus(Status.CANCELADO));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar avançar o status do projeto encerrado")
     void avancarStatusFalha_projetoEncerrado() {
         Long projetoID = 1L;
-        Status status = Status.ENCERRADO;
-        ProjetoEntity projetoTeste = new ProjetoEntity();
-        projetoTeste.setStatus(status);
 
-        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.ENCERRADO)));
 
         assertThrows(RegraNegocioException.class, () ->{
             projetoService.avancarStatus(projetoID);
         });
-        verify(repository).findById(projetoID);
-        verify(repository, never()).save(any());
+        verify(repository).buscarParaTransicao(projetoID);
+        verify(repository, never()).transicionarStatus(any(), any(), any(), any());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar avançar o status do projeto cancelado")
     void avancarStatusFalha_projetoCancelado() {
         Long projetoID = 1L;
-        Status status = Status.CANCELADO;
-        ProjetoEntity projetoTeste = new ProjetoEntity();
-        projetoTeste.setStatus(status);
 
-        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.CANCELADO)));
 
         assertThrows(RegraNegocioException.class, () ->{
             projetoService.avancarStatus(projetoID);
         });
-        verify(repository).findById(projetoID);
-        verify(repository, never()).save(any());
+        verify(repository).buscarParaTransicao(projetoID);
+        verify(repository, never()).transicionarStatus(any(), any(), any(), any());
     }
 
     @Test
     @DisplayName("Deve lançar uma exceção quando o projeto não existir")
     void avancarStatusProjetoInexistente() {
         Long projetoID = 1L;
-        when(repository.findById(projetoID)).thenReturn(Optional.empty());
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.empty());
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () ->{
             projetoService.avancarStatus(projetoID);
         });
 
         assertEquals("Projeto com ID " + projetoID + " não encontrado", exception.getMessage());
-        verify(repository).findById(projetoID);
-        verify(repository, never()).save(any());
+        verify(repository).buscarParaTransicao(projetoID);
+        verify(repository, never()).transicionarStatus(any(), any(), any(), any());
     }
 
     @Test
     @DisplayName("Deve cancelar um projeto com sucesso")
     void cancelarProjetoSucesso() {
         Long projetoID = 1L;
-        ProjetoEntity projetoTeste = new ProjetoEntity();
 
-        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.EM_ANALISE)));
+        when(repository.transicionarStatus(projetoID, Status.EM_ANALISE, Status.CANCELADO, null)).thenReturn(1);
 
         projetoService.cancelarProjeto(projetoID);
 
-        assertEquals(Status.CANCELADO, projetoTeste.getStatus());
-        verify(repository).save(projetoTeste);
+        verify(repository).transicionarStatus(projetoID, Status.EM_ANALISE, Status.CANCELADO, null);
+        verify(relatorioService).registrarTransicao(eq(Status.EM_ANALISE), eq(Status.CANCELADO), any(), any(), any());
+        verify(alocacaoService).liberarProjetos(List.of(projetoID));
     }
 
     @Test
     @DisplayName("Deve lançar uma exceção quando o projeto não existir")
     void cancelarProjetoInexistente() {
         Long projetoID = 1L;
-        when(repository.findById(projetoID)).thenReturn(Optional.empty());
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.empty());
 
         RecursoNaoEncontradoException exception = assertThrows(RecursoNaoEncontradoException.class, () ->{
             projetoService.cancelarProjeto(projetoID);
         });
 
         assertEquals("Projeto com ID " + projetoID + " não encontrado", exception.getMessage());
-        verify(repository).findById(projetoID);
-        verify(repository, never()).save(any());
+        verify(repository).buscarParaTransicao(projetoID);
+        verify(repository, never()).transicionarStatus(any(), any(), any(), any());
     }
 
     @Test
@@ -716,18 +989,15 @@ class ProjetoServiceTest {
     void cancelarProjetoCanceladoFalha() {
         Long projetoID = 1L;
 
-        ProjetoEntity projetoTeste = new ProjetoEntity();
-        projetoTeste.setStatus(Status.CANCELADO);
-
-        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.CANCELADO)));
 
         ValidacaoException exception = assertThrows(ValidacaoException.class, () ->{
             projetoService.cancelarProjeto(projetoID);
         });
 
-        assertEquals("Projeto já está com status de " + projetoTeste.getStatus(), exception.getMessage());
-        verify(repository).findById(projetoID);
-        verify(repository, never()).save(any());
+        assertEquals("Projeto já está com status de " + Status.CANCELADO, exception.getMessage());
+        verify(repository).buscarParaTransicao(projetoID);
+        verify(repository, never()).transicionarStatus(any(), any(), any(), any());
     }
 
     @Test
@@ -735,18 +1005,15 @@ class ProjetoServiceTest {
     void cancelarProjetoEncerradoFalha() {
         Long projetoID = 1L;
 
-        ProjetoEntity projetoTeste = new ProjetoEntity();
-        projetoTeste.setStatus(Status.ENCERRADO);
-
-        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        when(repository.buscarParaTransicao(projetoID)).thenReturn(Optional.of(projetoParaTransicao(Status.ENCERRADO)));
 
         ValidacaoException exception = assertThrows(ValidacaoException.class, () ->{
             projetoService.cancelarProjeto(projetoID);
         });
 
-        assertEquals("Projeto já está com status de " + projetoTeste.getStatus(), exception.getMessage());
-        verify(repository).findById(projetoID);
-        verify(repository, never()).save(any());
+        assertEquals("Projeto já está com status de " + Status.ENCERRADO, exception.getMessage());
+        verify(repository).buscarParaTransicao(projetoID);
+        verify(repository, never()).transicionarStatus(any(), any(), any(), any());
     }
 
     @Test
@@ -762,6 +1029,42 @@ class ProjetoServiceTest {
 
         verify(repository).findById(projetoID);
         verify(repository).delete(projetoTeste);
+        verify(relatorioService).removerProjeto(projetoTeste);
+    }
+
+    @Test
+    @DisplayName("Deve repetir a gravação quando outra requisição gravar a mesma chave única ao mesmo tempo")
+    void deletarProjetoRepeteChaveDuplicada() {
+        Long projetoID = 1L;
+        ReflectionTestUtils.setField(projetoService, "tentativas", 3);
+        ProjetoEntity projetoTeste = new ProjetoEntity();
+        projetoTeste.setStatus(Status.EM_ANALISE);
+
+        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        doThrow(new DataIntegrityViolationException("chave duplicada", new SQLException("chave duplicada", "23505")))
+                .doNothing()
+                .when(repository).delete(projetoTeste);
+
+        projetoService.deletarProjeto(projetoID);
+
+        verify(repository, times(2)).delete(projetoTeste);
+    }
+
+    @Test
+    @DisplayName("Não deve repetir a gravação quando a violação de integridade não for de chave única")
+    void deletarProjetoNaoRepeteOutraViolacao() {
+        Long projetoID = 1L;
+        ReflectionTestUtils.setField(projetoService, "tentativas", 3);
+        ProjetoEntity projetoTeste = new ProjetoEntity();
+        projetoTeste.setStatus(Status.EM_ANALISE);
+
+        when(repository.findById(projetoID)).thenReturn(Optional.of(projetoTeste));
+        //Violação de chave estrangeira: repetir daria o mesmo erro
+        doThrow(new DataIntegrityViolationException("chave estrangeira", new SQLException("chave estrangeira", "23503")))
+                .when(repository).delete(projetoTeste);
+
+        assertThrows(DataIntegrityViolationException.class, () -> projetoService.deletarProjeto(projetoID));
+        verify(repository, times(1)).delete(projetoTeste);
     }
 
     @Test
@@ -774,7 +1077,7 @@ class ProjetoServiceTest {
             projetoService.deletarProjeto(projetoID);
         });
         verify(repository).findById(projetoID);
-        verify(repository, never()).delete(any());
+        verify(repository, never()).delete(any(ProjetoEntity.class));
     }
 
     @Test
@@ -790,7 +1093,7 @@ class ProjetoServiceTest {
             projetoService.deletarProjeto(projetoID);
         });
         verify(repository).findById(projetoID);
-        verify(repository, never()).delete(any());
+        verify(repository, never()).delete(any(ProjetoEntity.class));
     }
 
     @Test
@@ -806,7 +1109,7 @@ class ProjetoServiceTest {
             projetoService.deletarProjeto(projetoID);
         });
         verify(repository).findById(projetoID);
-        verify(repository, never()).delete(any());
+        verify(repository, never()).delete(any(ProjetoEntity.class));
     }
 
     @Test
@@ -822,6 +1125,6 @@ class ProjetoServiceTest {
             projetoService.deletarProjeto(projetoID);
         });
         verify(repository).findById(projetoID);
-        verify(repository, never()).delete(any());
+        verify(repository, never()).delete(any(ProjetoEntity.class));
     }
 }
\ No newline at end of file
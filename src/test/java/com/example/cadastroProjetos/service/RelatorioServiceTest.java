@@ -0,0 +1,120 @@
+package com.example.cadastroProjetos.service;
+
+import com.example.cadastroProjetos.model.dto.RelatorioDto;
+import com.example.cadastroProjetos.model.dto.RelatorioStatusDto;
+import com.example.cadastroProjetos.model.entity.ProjetoEntity;
+import com.example.cadastroProjetos.model.enums.Status;
+import com.example.cadastroProjetos.repository.ProjetoRepository;
+import com.example.cadastroProjetos.repository.RelatorioMembroRepository;
+import com.example.cadastroProjetos.repository.RelatorioStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RelatorioServiceTest {
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private RelatorioStatusRepository statusRepository;
+
+    @Mock
+    private RelatorioMembroRepository membroRepository;
+
+    @InjectMocks
+    private RelatorioService relatorioService;
+
+    @BeforeEach
+    void setup(){
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    @DisplayName("Deve retornar os dados do relatório com sucesso")
+    void gerarRelatorioComSucesso() {
+        when(statusRepository.buscarTotais()).thenReturn(List.of(
+                new RelatorioStatusDto(Status.EM_ANALISE, 1L, new BigDecimal("100"), 0L),
+                new RelatorioStatusDto(Status.EM_ANDAMENTO, 1L, new BigDecimal("150"), 0L),
+                new RelatorioStatusDto(Status.ENCERRADO, 2L, new BigDecimal("200"), 14L)
+        ));
+        when(membroRepository.count()).thenReturn(6L);
+
+        RelatorioDto data = relatorioService.gerar();
+
+        assertEquals(4,data.quantidadePorStatus().values().stream().reduce(0L, Long::sum));
+        assertEquals(BigDecimal.valueOf(450),data.totalOrcadoPorStatus().values().stream().reduce(BigDecimal.valueOf(0),BigDecimal::add));
+        assertEquals(7,data.mediaDuracaoProjetosEncerrados());
+        assertEquals(6,data.totalMembrosUnicos());
+    }
+
+    @Test
+    @DisplayName("Deve retornar relatorio com dados nulos quando não houver projetos existentes")
+    void gerarRelatorioVazio() {
+        when(statusRepository.buscarTotais()).thenReturn(List.of());
+
+        RelatorioDto data = relatorioService.gerar();
+
+        assertTrue(data.quantidadePorStatus().isEmpty());
+        assertTrue(data.totalOrcadoPorStatus().isEmpty());
+        assertEquals(0,data.mediaDuracaoProjetosEncerrados());
+        assertEquals(0,data.totalMembrosUnicos());
+    }
+
+    @Test
+    @DisplayName("Deve criar a linha do status quando ela ainda não existir e somar os membros")
+    void registrarProjetoNovoStatus() {
+        ProjetoEntity projeto = new ProjetoEntity();
+        projeto.setStatus(Status.EM_ANALISE);
+        projeto.setOrcamento(new BigDecimal("500"));
+        projeto.setMembrosIds(List.of(1L, 2L));
+
+        when(statusRepository.ajustar(Status.EM_ANALISE, 1L, new BigDecimal("500"), 0L)).thenReturn(0);
+        when(membroRepository.buscarExistentes(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        relatorioService.registrarProjeto(projeto);
+
+        verify(statusRepository).inserir(Status.EM_ANALISE, 1L, new BigDecimal("500"), 0L);
+        verify(membroRepository).ajustar(List.of(1L), 1L);
+        verify(membroRepository).inserir(2L, 1L);
+        verify(membroRepository, never()).inserir(eq(1L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve mover o projeto de status e somar a duração quando for encerrado")
+    void registrarTransicaoParaEncerrado() {
+        when(statusRepository.ajustar(any(), anyLong(), any(), anyLong())).thenReturn(1);
+
+        relatorioService.registrarTransicao(Status.EM_ANDAMENTO, Status.ENCERRADO, new BigDecimal("300"),
+                LocalDate.of(2025, 1, 10), LocalDate.of(2025, 4, 10));
+
+        verify(statusRepository).ajustar(Status.EM_ANDAMENTO, -1L, new BigDecimal("-300"), 0L);
+        verify(statusRepository).ajustar(Status.ENCERRADO, 1L, new BigDecimal("300"), 3L);
+        verify(statusRepository, never()).inserir(any(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve remover os membros que não estão em mais nenhum projeto")
+    void removerProjetoComSucesso() {
+        ProjetoEntity projeto = new ProjetoEntity();
+        projeto.setStatus(Status.CANCELADO);
+        projeto.setOrcamento(new BigDecimal("500"));
+        projeto.setMembrosIds(List.of(1L, 2L));
+        when(statusRepository.ajustar(any(), anyLong(), any(), anyLong())).thenReturn(1);
+
+        relatorioService.removerProjeto(projeto);
+
+        verify(statusRepository).ajustar(Status.CANCELADO, -1L, new BigDecimal("-500"), 0L);
+        verify(membroRepository).ajustar(List.of(1L, 2L), -1L);
+        verify(membroRepository).removerSemReferencias();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.cadastroProjetos.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.example.cadastroProjetos.model.dto.TokenValidadoDto;
+import com.example.cadastroProjetos.model.entity.UserEntity;
+import com.example.cadastroProjetos.model.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setup(){
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret_key", "segredo-teste");
+        ReflectionTestUtils.setField(tokenService, "tamanhoMaximoCache", 100L);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", meterRegistry);
+        tokenService.iniciar();
+    }
+
+    private long contagem(String resultado){
+        return meterRegistry.timer("seguranca.token.validacao", "resultado", resultado).count();
+    }
+
+    @Test
+    @DisplayName("Deve verificar a assinatura só na primeira validação do mesmo token")
+    void validarTokenUsaCache() {
+        String token = tokenService.gerarToken(new UserEntity("kaua", "senha", UserRole.ADMINISTRADOR));
+
+        assertEquals("kaua", tokenService.validarToken(token));
+        assertEquals("kaua", tokenService.validarToken(token));
+        assertEquals("kaua", tokenService.validarToken(token));
+
+        assertEquals(1, contagem("verificado"));
+        assertEquals(2, contagem("cache"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar token com assinatura inválida e não guardá-lo no cache")
+    void validarTokenAssinaturaInvalida() {
+        String token = JWT.create()
+                .withIssuer("Criar e Editar Projetos")
+                .withSubject("kaua")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("outro-segredo"));
+
+        assertNull(tokenService.validarToken(token));
+        assertNull(tokenService.validarToken(token));
+        assertEquals(2, contagem("invalido"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar token expirado")
+    void validarTokenExpirado() {
+        String token = JWT.create()
+                .withIssuer("Criar e Editar Projetos")
+                .withSubject("kaua")
+                .withExpiresAt(Instant.now().minusSeconds(1))
+                .sign(Algorithm.HMAC256("segredo-teste"));
+
+        assertNull(tokenService.validarToken(token));
+        assertEquals(0, contagem("cache"));
+    }
+
+    @Test
+    @DisplayName("O token guardado no cache deve deixar de valer quando expirar")
+    void validarTokenExpiraNoCache() throws InterruptedException {
+        String token = JWT.create()
+                .withIssuer("Criar e Editar Projetos")
+                .withSubject("kaua")
+                .withExpiresAt(Instant.now().plusSeconds(2))
+                .sign(Algorithm.HMAC256("segredo-teste"));
+
+        assertEquals("kaua", tokenService.validarToken(token));
+        Thread.sleep(2100);
+
+        assertNull(tokenService.validarToken(token));
+        assertEquals(0, contagem("cache"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o papel do usuário no token e devolvê-lo na validação")
+    void validarTokenComPapel() {
+        String token = tokenService.gerarToken(new UserEntity("kaua", "senha", UserRole.MEMBRO));
+
+        TokenValidadoDto validado = tokenService.validar(token);
+
+        assertEquals("kaua", validado.login());
+        assertEquals(UserRole.MEMBRO, validado.role());
+    }
+
+    @Test
+    @DisplayName("Token emitido sem o papel deve ser válido, mas sem papel")
+    void validarTokenSemPapel() {
+        String token = JWT.create()
+                .withIssuer("Criar e Editar Projetos")
+                .withSubject("kaua")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("segredo-teste"));
+
+        TokenValidadoDto validado = tokenService.validar(token);
+
+        assertEquals("kaua", validado.login());
+        assertNull(validado.role());
+    }
+}